@@ -2,6 +2,8 @@ package bayern.steinbrecher.green2.configurationDialog;
 
 import bayern.steinbrecher.green2.sharedBasis.data.EnvironmentHandler;
 import bayern.steinbrecher.green2.sharedBasis.elements.ProfileChoice;
+import bayern.steinbrecher.green2.sharedBasis.utility.FxmlPreloader;
+import bayern.steinbrecher.green2.sharedBasis.utility.ProgramHost;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -22,6 +24,9 @@ public class ConfigDialog extends Application {
 
     @Override
     public void start(Stage primaryStage) {
+        // NOTE The dialog and the icons are prepared while the user chooses a profile
+        FxmlPreloader.preload(ConfigDialog.class);
+        EnvironmentHandler.ImageSet.prefetch();
         ProfileChoice.askForProfile(true).ifPresent(profile -> {
             Stage stage = EnvironmentHandler.STAGE_FACTORY.create();
             try {
@@ -53,6 +58,14 @@ public class ConfigDialog extends Application {
         });
     }
 
+    /**
+     * Stops the program hosted by this dialog since JavaFX only stops the application it launched.
+     */
+    @Override
+    public void stop() {
+        ProgramHost.stopHostedProgram();
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
@@ -62,6 +62,16 @@ public class ConfigDialogController extends WizardPageController<Optional<Void>>
     @FXML
     private CheckedRegexTextField birthdayExpressionTextField;
     @FXML
+    private CheckedIntegerSpinner refreshIntervalSpinner;
+    @FXML
+    private CheckBox memberChangeLogCheckBox;
+    @FXML
+    private CheckBox supportingIndexesCheckBox;
+    @FXML
+    private CheckBox offlineSnapshotCheckBox;
+    @FXML
+    private CheckBox flightRecordingCheckBox;
+    @FXML
     private ResourceBundle resources;
     private final ReadOnlyObjectWrapper<Stage> stage = new ReadOnlyObjectWrapper<>();
     private final List<CheckedTextField> checkedTextFields = new ArrayList<>();
@@ -84,7 +94,8 @@ public class ConfigDialogController extends WizardPageController<Optional<Void>>
         bindValidProperty(BindingUtility.reduceAnd(checkedTextFields.stream().map(CheckedTextField::validProperty))
                 .and(dbmsComboBox.validProperty())
                 .and(sshPort.validProperty())
-                .and(databasePort.validProperty()));
+                .and(databasePort.validProperty())
+                .and(refreshIntervalSpinner.validProperty()));
 
         //TODO Can loading/saving be abstracted?
         //Load settings
@@ -108,6 +119,13 @@ public class ConfigDialogController extends WizardPageController<Optional<Void>>
         dbmsComboBox.setItems(FXCollections.observableList(new ArrayList<>(SupportedDBMS.DBMSs)));
         dbmsComboBox.getSelectionModel().select(profile.getOrDefault(ProfileSettings.DBMS, null));
         birthdayFeaturesCheckbox.setSelected(profile.getOrDefault(ProfileSettings.ACTIVATE_BIRTHDAY_FEATURES, true));
+        refreshIntervalSpinner.getValueFactory().setValue(
+                profile.getOrDefault(ProfileSettings.REFRESH_INTERVAL_SECONDS, 0));
+        memberChangeLogCheckBox.setSelected(profile.getOrDefault(ProfileSettings.USE_MEMBER_CHANGE_LOG, false));
+        supportingIndexesCheckBox.setSelected(
+                profile.getOrDefault(ProfileSettings.CREATE_SUPPORTING_INDEXES, false));
+        offlineSnapshotCheckBox.setSelected(profile.getOrDefault(ProfileSettings.KEEP_OFFLINE_SNAPSHOT, false));
+        flightRecordingCheckBox.setSelected(profile.getOrDefault(ProfileSettings.RECORD_FLIGHT_DATA, false));
     }
 
     public ReadOnlyObjectProperty<Stage> stageProperty() {
@@ -137,6 +155,11 @@ public class ConfigDialogController extends WizardPageController<Optional<Void>>
             profile.set(ProfileSettings.SSH_CHARSET, Charset.forName(sshCharsetTextField.getText()));
             profile.set(ProfileSettings.DBMS, dbmsComboBox.getSelectionModel().getSelectedItem());
             profile.set(ProfileSettings.ACTIVATE_BIRTHDAY_FEATURES, birthdayFeaturesCheckbox.isSelected());
+            profile.set(ProfileSettings.REFRESH_INTERVAL_SECONDS, refreshIntervalSpinner.getValue());
+            profile.set(ProfileSettings.USE_MEMBER_CHANGE_LOG, memberChangeLogCheckBox.isSelected());
+            profile.set(ProfileSettings.CREATE_SUPPORTING_INDEXES, supportingIndexesCheckBox.isSelected());
+            profile.set(ProfileSettings.KEEP_OFFLINE_SNAPSHOT, offlineSnapshotCheckBox.isSelected());
+            profile.set(ProfileSettings.RECORD_FLIGHT_DATA, flightRecordingCheckBox.isSelected());
             profile.saveSettings();
             profile.renameProfile(profileNameTextField.getText());
             getStage().close();
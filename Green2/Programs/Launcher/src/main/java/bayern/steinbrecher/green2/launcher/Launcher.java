@@ -7,8 +7,10 @@ import bayern.steinbrecher.green2.launcher.utility.ZipUtility;
 import bayern.steinbrecher.green2.sharedBasis.data.AppInfo;
 import bayern.steinbrecher.green2.sharedBasis.data.EnvironmentHandler;
 import bayern.steinbrecher.green2.sharedBasis.data.SupportedOS;
+import bayern.steinbrecher.green2.sharedBasis.diagnostics.StartupTracer;
 import bayern.steinbrecher.green2.sharedBasis.utility.IOStreamUtility;
 import bayern.steinbrecher.green2.sharedBasis.utility.PathUtility;
+import bayern.steinbrecher.green2.sharedBasis.utility.ProgramHost;
 import bayern.steinbrecher.green2.sharedBasis.utility.Programs;
 import bayern.steinbrecher.green2.sharedBasis.utility.ThreadUtility;
 import bayern.steinbrecher.green2.sharedBasis.utility.URLUtility;
@@ -164,8 +166,16 @@ public final class Launcher extends Application {
         }
     }
 
-    private static void startMemberManagement() {
-        Programs.MEMBER_MANAGEMENT.call();
+    /**
+     * Starts the installed member management. If the installation changed the modules loaded by the launcher may be
+     * outdated. Hence the member management is started in a new process in this case.
+     */
+    private static void startMemberManagement(boolean installationChanged) {
+        if (installationChanged) {
+            Programs.MEMBER_MANAGEMENT.callInNewProcess();
+        } else {
+            Programs.MEMBER_MANAGEMENT.call();
+        }
     }
 
     private static boolean isApplicationInstalled() {
@@ -198,15 +208,20 @@ public final class Launcher extends Application {
     public void start(Stage primaryStage) {
         Platform.setImplicitExit(false);
 
-        Thread startup = new Thread(() -> {
+        ThreadUtility.startTask("Startup", () -> {
+            boolean installationChanged = false;
             if (isApplicationInstalled()) {
-                Optional<String> optOnlineVersion = readOnlineVersion();
+                Optional<String> optOnlineVersion;
+                try (StartupTracer.Phase checkForUpdates = StartupTracer.begin("Check for updates")) {
+                    optOnlineVersion = readOnlineVersion();
+                }
                 if (optOnlineVersion.isPresent()) {
                     boolean isInstallationOutdated = !AppInfo.VERSION.equalsIgnoreCase(optOnlineVersion.get());
                     if (isInstallationOutdated) {
                         Optional<Boolean> userConfirmedUpdate
                                 = ThreadUtility.runLaterBlocking(() -> ChoiceDialog.askForUpdate(getHostServices()));
                         if (userConfirmedUpdate.orElse(false)) {
+                            installationChanged = true;
                             try {
                                 startUpdateProcess();
                             } catch (Exception ex) { // In any case: If update fails, start installed version
@@ -216,19 +231,29 @@ public final class Launcher extends Application {
                     }
                 }
             } else {
-                startInstallationProcess();
+                try (StartupTracer.Phase install = StartupTracer.begin("Install")) {
+                    startInstallationProcess();
+                }
+                installationChanged = true;
             }
 
             if (isApplicationInstalled()) {
-                startMemberManagement();
+                startMemberManagement(installationChanged);
+            } else {
+                Platform.exit();
             }
-            Platform.exit();
-        }, "Startup thread");
-        startup.setUncaughtExceptionHandler((thread, exception) -> {
+        }, (thread, exception) -> {
             ThreadUtility.DEFAULT_THREAD_EXCEPTION_HANDLER.uncaughtException(thread, exception);
             Platform.exit();
         });
-        startup.start();
+    }
+
+    /**
+     * Stops the program hosted by the launcher since JavaFX only stops the application it launched.
+     */
+    @Override
+    public void stop() {
+        ProgramHost.stopHostedProgram();
     }
 
     public static void main(String[] args) {
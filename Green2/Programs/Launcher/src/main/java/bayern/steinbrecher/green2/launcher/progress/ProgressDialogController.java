@@ -1,7 +1,7 @@
 package bayern.steinbrecher.green2.launcher.progress;
 
+import bayern.steinbrecher.green2.sharedBasis.utility.FxUpdateScheduler;
 import bayern.steinbrecher.wizard.StandaloneWizardPageController;
-import javafx.application.Platform;
 import javafx.beans.property.ReadOnlyDoubleProperty;
 import javafx.beans.property.ReadOnlyDoubleWrapper;
 import javafx.beans.property.ReadOnlyStringProperty;
@@ -23,8 +23,9 @@ public class ProgressDialogController extends StandaloneWizardPageController<Opt
 
     @FXML
     public void initialize() {
+        // NOTE Only the latest progress per pulse has to be shown
         progress.addListener((obs, oldVal, newVal) -> {
-            Platform.runLater(() -> {
+            FxUpdateScheduler.schedule(progressString, () -> {
                 String formattedPercentValue;
                 //CHECKSTYLE.OFF: MagicNumber - Multiplication with 100 is needed for having output as percentage.
                 synchronized (FORMAT) {
@@ -13,20 +13,31 @@ import bayern.steinbrecher.dbConnector.query.QueryFailedException;
 import bayern.steinbrecher.dbConnector.query.SupportedDBMS;
 import bayern.steinbrecher.dbConnector.scheme.SimpleColumnPattern;
 import bayern.steinbrecher.dbConnector.scheme.TableScheme;
+import bayern.steinbrecher.green2.memberManagement.data.IndexAdvisor;
+import bayern.steinbrecher.green2.memberManagement.data.MappedSnapshot;
+import bayern.steinbrecher.green2.memberManagement.data.MemberChangeLog;
+import bayern.steinbrecher.green2.memberManagement.data.MemberSnapshot;
+import bayern.steinbrecher.green2.memberManagement.data.SnapshotStore;
 import bayern.steinbrecher.green2.memberManagement.elements.SplashScreen;
 import bayern.steinbrecher.green2.memberManagement.elements.WaitScreen;
 import bayern.steinbrecher.green2.memberManagement.login.Login;
 import bayern.steinbrecher.green2.memberManagement.login.simple.SimpleLogin;
 import bayern.steinbrecher.green2.memberManagement.login.ssh.SshLogin;
 import bayern.steinbrecher.green2.memberManagement.menu.MainMenu;
+import bayern.steinbrecher.green2.memberManagement.menu.MainMenuController.ValidatedConnection;
 import bayern.steinbrecher.green2.sharedBasis.data.AppInfo;
 import bayern.steinbrecher.green2.sharedBasis.data.EnvironmentHandler;
 import bayern.steinbrecher.green2.sharedBasis.data.Profile;
 import bayern.steinbrecher.green2.sharedBasis.data.ProfileSettings;
 import bayern.steinbrecher.green2.sharedBasis.data.Tables;
+import bayern.steinbrecher.green2.sharedBasis.diagnostics.FlightRecording;
+import bayern.steinbrecher.green2.sharedBasis.diagnostics.FxWatchdog;
+import bayern.steinbrecher.green2.sharedBasis.diagnostics.StartupTracer;
 import bayern.steinbrecher.green2.sharedBasis.elements.ProfileChoice;
+import bayern.steinbrecher.green2.sharedBasis.utility.FxmlPreloader;
+import bayern.steinbrecher.green2.sharedBasis.utility.ProgramHost;
 import bayern.steinbrecher.green2.sharedBasis.utility.Programs;
-import bayern.steinbrecher.green2.sharedBasis.utility.ThreadUtility;
+import bayern.steinbrecher.green2.sharedBasis.utility.ThreadUtility.TaskScope;
 import bayern.steinbrecher.javaUtility.DialogCreationException;
 import bayern.steinbrecher.javaUtility.DialogFactory;
 import javafx.application.Application;
@@ -40,9 +51,13 @@ import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.sql.DriverManager;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -62,6 +77,25 @@ public class MemberManagement extends Application {
     private static final long SPLASHSCREEN_DISPLAY_DURATION = 2500; // [ms]
     private Profile loadedProfile;
     private DBConnection dbConnection;
+    /**
+     * The store of the local snapshot of the data or {@code null} if the loaded profile does not keep any.
+     */
+    private SnapshotStore snapshotStore;
+    /**
+     * The local snapshot the user chose to work on since the database is not reachable or {@code null} if there is
+     * none.
+     */
+    private MemberSnapshot offlineSnapshot;
+    /**
+     * Whether the change log of member is installed in the database of {@link #dbConnection} and can be used for
+     * refreshing member.
+     */
+    private boolean memberChangeLogInstalled;
+    /**
+     * The scope of the background tasks of this program. It is created whenever this program is initialized and
+     * cancelled as soon as it stops. Hence each program hosted within the same JVM gets its own scope.
+     */
+    private TaskScope programTasks;
 
     public MemberManagement() {
         super();
@@ -75,7 +109,11 @@ public class MemberManagement extends Application {
     private static Optional<Profile> askUserForProfile() {
         Optional<Profile> profile;
         List<String> availableProfiles = Profile.getAvailableProfiles();
-        if (availableProfiles.isEmpty()) {
+        if (EnvironmentHandler.isLoaded()
+                && availableProfiles.contains(EnvironmentHandler.getProfile().getProfileName())) {
+            // NOTE The profile was chosen already by a previous program running within the same JVM
+            profile = Optional.of(EnvironmentHandler.getProfile());
+        } else if (availableProfiles.isEmpty()) {
             Programs.CONFIGURATION_DIALOG.call();
             LOGGER.log(Level.INFO, "The are no profiles which can be loaded. Requested config dialog.");
             profile = Optional.empty();
@@ -88,7 +126,7 @@ public class MemberManagement extends Application {
         return profile;
     }
 
-    private static void showSplashScreen() {
+    private void showSplashScreen() {
         SplashScreen splashScreen = new SplashScreen();
         Stage splashScreenStage = EnvironmentHandler.STAGE_FACTORY.create();
         try {
@@ -102,7 +140,7 @@ public class MemberManagement extends Application {
         splashScreenStage.showingProperty()
                 .addListener((obs, wasShowing, isShowing) -> {
                     if (isShowing) {
-                        Thread closeTask = new Thread(() -> {
+                        programTasks.fork("Close splash screen", () -> {
                             try {
                                 Thread.sleep(SPLASHSCREEN_DISPLAY_DURATION);
                             } catch (InterruptedException ex) {
@@ -111,14 +149,16 @@ public class MemberManagement extends Application {
                             }
                             Platform.runLater(splashScreenStage::close);
                         });
-                        closeTask.setUncaughtExceptionHandler(ThreadUtility.DEFAULT_THREAD_EXCEPTION_HANDLER);
-                        closeTask.start();
                     }
                 });
         splashScreenStage.showAndWait();
     }
 
-    private Optional<DBConnection> establishDBConnection(DBCredentials credentials) {
+    /**
+     * Connects to the database specified by the loaded profile using the given credentials.
+     */
+    @SuppressWarnings("PMD.SignatureDeclareThrowsException") // NOTE Connecting may fail for any reason
+    private DBConnection createConnection(DBCredentials credentials) throws Exception {
         assert loadedProfile != null : "Establishing a connection requires a profile to be loaded first";
 
         SupportedDBMS dbms = loadedProfile.get(ProfileSettings.DBMS);
@@ -126,33 +166,74 @@ public class MemberManagement extends Application {
         int databasePort = loadedProfile.getOrDefault(ProfileSettings.DATABASE_PORT, dbms.getDefaultPort());
         String databaseName = loadedProfile.get(ProfileSettings.DATABASE_NAME);
         boolean enableSSL = loadedProfile.getOrDefault(ProfileSettings.USE_SSL_IF_NO_SSH, true);
+        DBConnection connection;
+        if (credentials instanceof SimpleCredentials) {
+            connection = new SimpleConnection(
+                    dbms, databaseHost, databasePort, databaseName, (SimpleCredentials) credentials, enableSSL);
+        } else if (credentials instanceof SshCredentials) {
+            String sshHost = loadedProfile.getOrDefault(ProfileSettings.SSH_HOST, "localhost");
+            int sshPort = loadedProfile.getOrDefault(ProfileSettings.SSH_PORT, 22);
+            Charset sshCharset = loadedProfile
+                    .getOrDefault(ProfileSettings.SSH_CHARSET, StandardCharsets.UTF_8);
+            connection = new SshConnection(dbms, databaseHost, databasePort, databaseName, sshHost, sshPort,
+                    sshCharset, (SshCredentials) credentials);
+        } else {
+            throw new UnsupportedOperationException(
+                    "Credentials of type " + credentials.getClass().getCanonicalName() + " are not supported.");
+        }
+        return connection;
+    }
+
+    /**
+     * Asks the user whether to work on the local snapshot of the data if there is any. Only the time the snapshot was
+     * created is decrypted before the user chose to work on it.
+     *
+     * @return The local snapshot only if there is any and the user chose to work on it.
+     */
+    private Optional<MemberSnapshot> askForOfflineSnapshot() throws DialogCreationException {
+        Optional<MemberSnapshot> chosenSnapshot = Optional.empty();
+        if (snapshotStore != null && snapshotStore.exists()) {
+            try {
+                Optional<MappedSnapshot> snapshot = snapshotStore.open();
+                if (snapshot.isPresent()) {
+                    String openOfflineSnapshot = EnvironmentHandler.getResourceValue("openOfflineSnapshot",
+                            snapshot.get()
+                                    .getCreated()
+                                    .format(DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM)));
+                    Alert confirmation = EnvironmentHandler.DIALOG_FACTORY.createConfirmationAlert(
+                            Alert.AlertType.CONFIRMATION, openOfflineSnapshot);
+                    Optional<ButtonType> answer = DialogFactory.showAndWait(confirmation);
+                    if (answer.isPresent() && answer.get() == ButtonType.OK) {
+                        chosenSnapshot = Optional.of(snapshot.get().toMemberSnapshot());
+                    }
+                }
+            } catch (IOException | GeneralSecurityException ex) {
+                LOGGER.log(Level.WARNING, "Could not load the local snapshot of the data", ex);
+            }
+        }
+        return chosenSnapshot;
+    }
+
+    private Optional<DBConnection> establishDBConnection(DBCredentials credentials) {
         DBConnection dbConnection = null;
 
         Alert failureReport = null;
         try {
-            try {
-                if (credentials instanceof SimpleCredentials) {
-                    dbConnection = new SimpleConnection(
-                            dbms, databaseHost, databasePort, databaseName, (SimpleCredentials) credentials, enableSSL);
-                } else if (credentials instanceof SshCredentials) {
-                    String sshHost = loadedProfile.getOrDefault(ProfileSettings.SSH_HOST, "localhost");
-                    int sshPort = loadedProfile.getOrDefault(ProfileSettings.SSH_PORT, 22);
-                    Charset sshCharset = loadedProfile
-                            .getOrDefault(ProfileSettings.SSH_CHARSET, StandardCharsets.UTF_8);
-                    dbConnection = new SshConnection(dbms, databaseHost, databasePort, databaseName, sshHost, sshPort,
-                            sshCharset, (SshCredentials) credentials);
-                } else {
-                    throw new UnsupportedOperationException(
-                            "Credentials of type " + credentials.getClass().getCanonicalName() + " are not supported.");
-                }
+            try (StartupTracer.Phase connect = StartupTracer.begin("Connect to database")) {
+                dbConnection = createConnection(credentials);
             } catch (AuthException ex) {
                 LOGGER.log(Level.INFO, null, ex);
                 String checkInput = EnvironmentHandler.getResourceValue("checkInput");
                 failureReport = EnvironmentHandler.DIALOG_FACTORY.createInfoAlert(checkInput, checkInput);
             } catch (ConnectionFailedException ex) {
                 LOGGER.log(Level.INFO, null, ex);
-                String checkConnection = EnvironmentHandler.getResourceValue("checkConnection");
-                failureReport = EnvironmentHandler.DIALOG_FACTORY.createInfoAlert(checkConnection, checkConnection);
+                offlineSnapshot = askForOfflineSnapshot()
+                        .orElse(null);
+                if (offlineSnapshot == null) {
+                    String checkConnection = EnvironmentHandler.getResourceValue("checkConnection");
+                    failureReport
+                            = EnvironmentHandler.DIALOG_FACTORY.createInfoAlert(checkConnection, checkConnection);
+                }
             } catch (DatabaseNotFoundException ex) {
                 LOGGER.log(Level.SEVERE, "Could not find database on host.", ex);
                 String databaseNotFound = EnvironmentHandler.getResourceValue("databaseNotFound");
@@ -172,10 +253,57 @@ public class MemberManagement extends Application {
         return Optional.ofNullable(dbConnection);
     }
 
+    /**
+     * Creates the missing indexes supporting the queries of Green2. Since the indexes are not required failing to
+     * create them is only logged.
+     *
+     * @return A report about the estimated savings of the created indexes. It is empty if no index was created.
+     */
+    private Optional<Alert> createSupportingIndexes() throws DialogCreationException {
+        IndexAdvisor indexAdvisor = new IndexAdvisor(dbConnection);
+        Optional<Alert> indexReport = Optional.empty();
+        try {
+            List<IndexAdvisor.IndexReport> reports = indexAdvisor.createIndexes(indexAdvisor.findMissingIndexes());
+            if (!reports.isEmpty()) {
+                String supportingIndexesCreated = EnvironmentHandler.getResourceValue("supportingIndexesCreated");
+                String reportMessage = reports.stream()
+                        .map(report -> EnvironmentHandler.getResourceValue("supportingIndexReport",
+                                report.advice().indexName(), report.rowsAfter(), report.rowsBefore()))
+                        .collect(Collectors.joining("\n"));
+                indexReport = Optional.of(EnvironmentHandler.DIALOG_FACTORY.createInfoAlert(
+                        supportingIndexesCreated, reportMessage));
+            }
+        } catch (QueryFailedException ex) {
+            LOGGER.log(Level.WARNING, "Could not create supporting indexes", ex);
+        }
+        return indexReport;
+    }
+
+    /**
+     * Installs the change log of member. Since installing requires privileges for creating triggers which the user may
+     * not have failing to install it does not fail the validation of the database. Changes of member are detected by
+     * probing the tables instead.
+     *
+     * @return {@code true} only if the change log was installed successfully.
+     */
+    private boolean installMemberChangeLog() {
+        boolean installed;
+        try {
+            new MemberChangeLog(dbConnection).install();
+            installed = true;
+        } catch (QueryFailedException ex) {
+            LOGGER.log(Level.WARNING,
+                    "Could not install the change log of member. Changes are detected by probing the tables.", ex);
+            installed = false;
+        }
+        return installed;
+    }
+
     private <T> boolean validateDBConnection() {
         assert dbConnection != null : "Cannot validate non existing database connection";
 
         Alert failureReport = null;
+        Optional<Alert> indexReport = Optional.empty();
         try {
             try {
                 if (!dbConnection.databaseExists()) {
@@ -193,6 +321,21 @@ public class MemberManagement extends Application {
                             missingColumns.put(scheme, (Set<SimpleColumnPattern<?, ?>>) currentMissingColumns);
                         }
                     }
+                    memberChangeLogInstalled = false;
+                    if (loadedProfile.getOrDefault(ProfileSettings.USE_MEMBER_CHANGE_LOG, false)) {
+                        if (MemberChangeLog.isSupported(dbConnection)) {
+                            memberChangeLogInstalled = installMemberChangeLog();
+                        } else {
+                            LOGGER.log(Level.WARNING, "The DBMS does not support logging changes of member");
+                        }
+                    }
+                    if (loadedProfile.getOrDefault(ProfileSettings.CREATE_SUPPORTING_INDEXES, false)) {
+                        if (IndexAdvisor.isSupported(dbConnection)) {
+                            indexReport = createSupportingIndexes();
+                        } else {
+                            LOGGER.log(Level.WARNING, "The DBMS does not support creating supporting indexes");
+                        }
+                    }
                     if (!missingColumns.isEmpty()) {
                         String invalidScheme = EnvironmentHandler.getResourceValue("invalidScheme");
                         String missingColumnsListingMessage = missingColumns.entrySet()
@@ -218,6 +361,7 @@ public class MemberManagement extends Application {
             LOGGER.log(Level.WARNING, "Could not show error to user", ex);
         }
         if (failureReport == null) {
+            indexReport.ifPresent(DialogFactory::showAndWait);
             return true;
         } else {
             DialogFactory.showAndWait(failureReport);
@@ -229,18 +373,35 @@ public class MemberManagement extends Application {
         Optional<DBConnection> optDbConnection = establishDBConnection(credentials);
         if (optDbConnection.isPresent()) {
             dbConnection = optDbConnection.get();
-            return validateDBConnection();
+            try (StartupTracer.Phase validate = StartupTracer.begin("Validate database")) {
+                return validateDBConnection();
+            }
         } else {
             return false;
         }
     }
 
-    private void showMainMenu() {
-        assert dbConnection != null : "Cannot open main menu without established database connection";
+    /**
+     * Connects to the database again after working offline and validates it like the first connection.
+     *
+     * @return The validated connection. It is empty if the database is reachable but not valid.
+     */
+    @SuppressWarnings("PMD.SignatureDeclareThrowsException") // NOTE Connecting may fail for any reason
+    private Optional<ValidatedConnection> reconnect(DBCredentials credentials) throws Exception {
+        DBConnection connection = createConnection(credentials);
+        dbConnection = connection;
+        Optional<ValidatedConnection> validatedConnection;
+        if (validateDBConnection()) {
+            validatedConnection = Optional.of(new ValidatedConnection(connection, memberChangeLogInstalled));
+        } else {
+            validatedConnection = Optional.empty();
+        }
+        return validatedConnection;
+    }
 
-        MainMenu mainMenu = new MainMenu(dbConnection);
+    private void showMainMenu(MainMenu mainMenu) {
         Stage menuStage = EnvironmentHandler.STAGE_FACTORY.create();
-        try {
+        try (StartupTracer.Phase loadMainMenu = StartupTracer.begin("Load main menu")) {
             mainMenu.embedStandaloneWizardPage(menuStage, null);
         } catch (LoadException ex) {
             throw new RuntimeException("Could not create main menu", ex);
@@ -249,15 +410,32 @@ public class MemberManagement extends Application {
         menuStage.show();
     }
 
+    @Override
+    public void init() {
+        programTasks = new TaskScope("memberManagement");
+    }
+
     @Override
     public void start(Stage primaryStage) throws LoadException {
         dumpFeatureSupport();
+        FxWatchdog.start();
+        // NOTE The dialogs and icons are prepared while the user chooses a profile and logs in
+        FxmlPreloader.preload(MemberManagement.class);
+        EnvironmentHandler.ImageSet.prefetch();
 
-        Optional<Profile> optLoadedProfile = askUserForProfile();
+        Optional<Profile> optLoadedProfile;
+        try (StartupTracer.Phase chooseProfile = StartupTracer.begin("Choose profile")) {
+            optLoadedProfile = askUserForProfile();
+        }
         if (optLoadedProfile.isPresent()) {
             loadedProfile = optLoadedProfile.get();
+            if (loadedProfile.getOrDefault(ProfileSettings.RECORD_FLIGHT_DATA, false)) {
+                FlightRecording.start("MemberManagement");
+            }
             if (loadedProfile.isAllConfigurationsSet()) {
-                showSplashScreen();
+                try (StartupTracer.Phase splashScreen = StartupTracer.begin("Show splash screen")) {
+                    showSplashScreen();
+                }
 
                 WaitScreen waitScreen = new WaitScreen();
                 Stage waitScreenStage = EnvironmentHandler.STAGE_FACTORY.create();
@@ -285,32 +463,42 @@ public class MemberManagement extends Application {
                 }
                 AtomicBoolean loginCanceled = new AtomicBoolean(false);
                 loginStage.setOnCloseRequest(wevt -> loginCanceled.set(true));
+                // NOTE The phase ends when the user confirms or cancels the login the first time
+                StartupTracer.Phase loginPhase = StartupTracer.begin("Login"); //NOPMD - Closed by the listener below
                 loginStage.show();
 
                 loginStage.showingProperty().addListener((obs, wasShowing, isShowing) -> {
                     if (isShowing) {
                         waitScreenStage.hide();
                     } else {
+                        loginPhase.close();
                         if (!loginCanceled.get()) {
                             waitScreenStage.show();
                             if (login.isValid()) {
                                 Optional<? extends DBCredentials> credentials = login.getResult();
+                                if (loadedProfile.getOrDefault(ProfileSettings.KEEP_OFFLINE_SNAPSHOT, false)) {
+                                    snapshotStore = new SnapshotStore(
+                                            loadedProfile.getSnapshotFile().toPath(), login.getLocalDataSecret());
+                                }
                                 if (credentials.isPresent()) {
-                                    // FIXME Can the following thread be split in a clearer name?
-                                    Thread validateCredentialsAndShowMenu = new Thread(() -> {
+                                    programTasks.fork("Validate credentials and show menu", () -> {
                                         boolean credentialsAreValid = validateCredentials(credentials.get());
                                         if (credentialsAreValid) {
                                             Platform.runLater(() -> {
-                                                showMainMenu();
+                                                showMainMenu(new MainMenu(
+                                                        dbConnection, snapshotStore, memberChangeLogInstalled));
+                                                waitScreenStage.close();
+                                            });
+                                        } else if (offlineSnapshot != null) {
+                                            Platform.runLater(() -> {
+                                                showMainMenu(new MainMenu(offlineSnapshot,
+                                                        () -> reconnect(credentials.get()), snapshotStore));
                                                 waitScreenStage.close();
                                             });
                                         } else {
                                             Platform.runLater(loginStage::show);
                                         }
                                     });
-                                    validateCredentialsAndShowMenu.setUncaughtExceptionHandler(
-                                            ThreadUtility.DEFAULT_THREAD_EXCEPTION_HANDLER);
-                                    validateCredentialsAndShowMenu.start();
                                 } else {
                                     LOGGER.log(Level.WARNING, "The login did not provide credentials");
                                     Platform.exit();
@@ -345,9 +533,14 @@ public class MemberManagement extends Application {
      */
     @Override
     public void stop() {
+        // NOTE Member management may host the configuration dialog
+        ProgramHost.stopHostedProgram();
+        programTasks.cancel();
         if (dbConnection != null) {
             dbConnection.close();
         }
+        FxWatchdog.stop();
+        FlightRecording.stop();
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,170 @@
+package bayern.steinbrecher.green2.memberManagement.data;
+
+import bayern.steinbrecher.green2.sharedBasis.utility.ExecutorUtility;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Refreshes data periodically in the background. Each period a cheap probe is executed first which returns a
+ * fingerprint of the data like row counts or checksums. Only if the fingerprint differs from the one of the previous
+ * period the expensive refresh is executed. Probes and refreshes are executed by {@link ExecutorUtility#IO_EXECUTOR}
+ * and never overlap. A period is skipped if the previous one did not finish yet.
+ *
+ * @param <F> The type of the fingerprints returned by the probe. It has to implement {@link Object#equals(Object)}.
+ * @author Stefan Huber
+ * @since 2u14
+ */
+public final class BackgroundRefresher<F> implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(BackgroundRefresher.class.getName());
+    private final Callable<F> probe;
+    private final RefreshAction<F> refresh;
+    private final Runnable onUpToDate;
+    /**
+     * Guards {@link #lastFingerprint} and ensures that probes and refreshes never overlap.
+     */
+    private final Lock cycleLock = new ReentrantLock();
+    /**
+     * The fingerprint of the data which is currently loaded or {@code null} if it is unknown.
+     */
+    private F lastFingerprint;
+    private ScheduledFuture<?> scheduledCycles;
+
+    /**
+     * Creates a {@link BackgroundRefresher} which is not started yet.
+     *
+     * @param probe      The cheap query returning the current fingerprint of the data. It is called on each period.
+     * @param refresh    The action loading the changed data and replacing the currently loaded data. It is only called
+     *                   if the fingerprint changed.
+     * @param onUpToDate The action to call whenever a period finished successfully, i.e. the loaded data is known to be
+     *                   up to date. It is called on the thread executing the period.
+     * @see #start(Duration)
+     */
+    public BackgroundRefresher(Callable<F> probe, RefreshAction<F> refresh, Runnable onUpToDate) {
+        this.probe = Objects.requireNonNull(probe);
+        this.refresh = Objects.requireNonNull(refresh);
+        this.onUpToDate = Objects.requireNonNull(onUpToDate);
+    }
+
+    /**
+     * Starts the periodic refresh. If it was already started it is restarted using the given interval.
+     *
+     * @param interval The time between the end of a period and the start of the next one.
+     */
+    public synchronized void start(Duration interval) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("The interval has to be positive");
+        }
+        stop();
+        long intervalMillis = interval.toMillis();
+        scheduledCycles = ExecutorUtility.SCHEDULED_EXECUTOR.scheduleWithFixedDelay(
+                () -> ExecutorUtility.IO_EXECUTOR.execute(this::runCycle),
+                intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic refresh. A currently running period is finished.
+     */
+    public synchronized void stop() {
+        if (scheduledCycles != null) {
+            scheduledCycles.cancel(false);
+            scheduledCycles = null;
+        }
+    }
+
+    /**
+     * Checks whether the periodic refresh is started.
+     *
+     * @return {@code true} only if the periodic refresh is started.
+     */
+    public synchronized boolean isStarted() {
+        return scheduledCycles != null;
+    }
+
+    /**
+     * Records the current fingerprint as the one of the data which is loaded next. It has to be called right before
+     * reloading all data without using this refresher. Hence changes which happen while reloading are detected by the
+     * next period. If the periodic refresh is not started nothing is probed.
+     *
+     * @return A future which is completed as soon as the fingerprint is recorded. It is never completed exceptionally.
+     * If the probe fails the fingerprint is unknown and the next period only records it.
+     */
+    public CompletableFuture<Void> rebase() {
+        CompletableFuture<Void> rebased;
+        if (isStarted()) {
+            rebased = CompletableFuture.runAsync(() -> {
+                cycleLock.lock();
+                try {
+                    lastFingerprint = probe.call();
+                } catch (Exception ex) { //NOPMD - The probe may throw any exception.
+                    LOGGER.log(Level.WARNING, "Could not probe the state of the data before reloading it", ex);
+                    lastFingerprint = null;
+                } finally {
+                    cycleLock.unlock();
+                }
+            }, ExecutorUtility.IO_EXECUTOR);
+        } else {
+            rebased = CompletableFuture.completedFuture(null);
+        }
+        return rebased;
+    }
+
+    private void runCycle() {
+        if (cycleLock.tryLock()) {
+            try {
+                F currentFingerprint = probe.call();
+                if (lastFingerprint != null && !lastFingerprint.equals(currentFingerprint)) {
+                    LOGGER.log(Level.INFO, "The data changed. It is refreshed in the background.");
+                    refresh.refresh(lastFingerprint, currentFingerprint);
+                }
+                // NOTE Only remember the fingerprint if the refresh succeeded. Otherwise it is retried next period.
+                lastFingerprint = currentFingerprint;
+                onUpToDate.run();
+            } catch (Exception ex) { //NOPMD - The probe and the refresh may throw any exception.
+                LOGGER.log(Level.WARNING, "Could not refresh the data in the background", ex);
+            } finally {
+                cycleLock.unlock();
+            }
+        } else {
+            LOGGER.log(Level.FINE, "The previous refresh did not finish yet. The current period is skipped.");
+        }
+    }
+
+    /**
+     * Stops the periodic refresh.
+     *
+     * @see #stop()
+     */
+    @Override
+    public void close() {
+        stop();
+    }
+
+    /**
+     * Represents the action loading changed data and replacing the currently loaded data.
+     *
+     * @param <F> The type of the fingerprints describing the state of the data.
+     */
+    @FunctionalInterface
+    public interface RefreshAction<F> {
+
+        /**
+         * Loads the data which changed and replaces the currently loaded data. It is called on a background thread.
+         *
+         * @param previous The fingerprint of the currently loaded data.
+         * @param current  The fingerprint of the data in the database.
+         * @throws Exception Thrown if the data could not be refreshed.
+         */
+        @SuppressWarnings("PMD.SignatureDeclareThrowsException")
+        void refresh(F previous, F current) throws Exception;
+    }
+}
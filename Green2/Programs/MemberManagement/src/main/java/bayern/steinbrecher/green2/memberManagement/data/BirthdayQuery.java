@@ -0,0 +1,94 @@
+package bayern.steinbrecher.green2.memberManagement.data;
+
+import bayern.steinbrecher.dbConnector.DBConnection;
+import bayern.steinbrecher.dbConnector.DBConnection.Column;
+import bayern.steinbrecher.dbConnector.DBConnection.Table;
+import bayern.steinbrecher.dbConnector.query.GenerationFailedException;
+import bayern.steinbrecher.dbConnector.query.QueryCondition;
+import bayern.steinbrecher.dbConnector.query.QueryFailedException;
+import bayern.steinbrecher.dbConnector.query.QueryGenerator;
+import bayern.steinbrecher.dbConnector.query.QueryOperator;
+import bayern.steinbrecher.green2.sharedBasis.data.BirthdayRule;
+import bayern.steinbrecher.green2.sharedBasis.data.Tables;
+import bayern.steinbrecher.green2.sharedBasis.diagnostics.DbQueryTracer;
+import bayern.steinbrecher.green2.sharedBasis.people.Member;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Queries the member getting birthday notifications directly from the database instead of filtering all member. The
+ * {@link BirthdayRule} is translated into conditions on the birthday of member. Each range of notified ages results in
+ * a range of birthdays. Hence only the matching member are transferred.
+ *
+ * @author Stefan Huber
+ * @since 2u14
+ */
+public final class BirthdayQuery {
+
+    private static final String BIRTHDAY_COLUMN = "Geburtstag";
+    private static final Comparator<Member> BIRTHDAY_ORDER
+            = Comparator.comparing((Member member) -> member.person().birthday());
+    private final DBConnection connection;
+
+    /**
+     * Creates a query for member getting birthday notifications using the given connection.
+     *
+     * @param connection The connection to query the member with.
+     */
+    public BirthdayQuery(DBConnection connection) {
+        this.connection = Objects.requireNonNull(connection);
+    }
+
+    /**
+     * Queries all member which did not leave yet and get a birthday notification in the given year.
+     *
+     * @param rule The rule specifying which ages get notified.
+     * @param year The year to check the ages at.
+     * @return The member getting a birthday notification sorted by their birthday.
+     * @throws GenerationFailedException Thrown if any query could not be generated.
+     * @throws QueryFailedException      Thrown if any query failed.
+     * @see bayern.steinbrecher.green2.memberManagement.generator.BirthdayGenerator#getsNotified(Member, int)
+     */
+    public List<Member> queryNotified(BirthdayRule rule, int year)
+            throws GenerationFailedException, QueryFailedException {
+        Table<Set<Member>, Tables.MemberTableEntryBuilder> memberTable = connection.getTable(Tables.MEMBER)
+                .orElseThrow();
+        @SuppressWarnings("unchecked")
+        Column<Tables.MemberTableEntryBuilder, LocalDate> birthdayColumn
+                = (Column<Tables.MemberTableEntryBuilder, LocalDate>) memberTable.getColumns()
+                .stream()
+                .filter(column -> column.name().equals(BIRTHDAY_COLUMN))
+                .findAny()
+                .orElseThrow();
+        QueryGenerator queryGenerator = connection.getDbms()
+                .getQueryGenerator();
+
+        Set<Member> notified = new HashSet<>();
+        for (BirthdayRule.AgeRange ageRange : rule.getNotifiedAgeRanges()) {
+            // NOTE Persons of age a in year y are born in year y - a
+            List<QueryCondition<?>> conditions = new ArrayList<>();
+            if (ageRange.isBounded()) {
+                conditions.add(QueryOperator.IS_AFTER_DATE.generateCondition(
+                        queryGenerator, birthdayColumn, LocalDate.of(year - ageRange.maxAge() - 1, 12, 31)));
+            }
+            if (ageRange.minAge() > 0) {
+                conditions.add(QueryOperator.IS_BEFORE_DATE.generateCondition(
+                        queryGenerator, birthdayColumn, LocalDate.of(year - ageRange.minAge() + 1, 1, 1)));
+            }
+            String searchQuery = queryGenerator.generateSearchQueryStatement(
+                    connection.getDatabaseName(), memberTable, memberTable.getColumns(), conditions);
+            notified.addAll(memberTable.parseFrom(DbQueryTracer.execQuery(connection, searchQuery)));
+        }
+        return notified.stream()
+                .filter(member -> member.leavingDate().isEmpty() && member.person().birthday() != null)
+                .sorted(BIRTHDAY_ORDER)
+                .collect(Collectors.toList());
+    }
+}
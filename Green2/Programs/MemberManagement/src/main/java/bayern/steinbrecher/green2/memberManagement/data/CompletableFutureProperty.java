@@ -0,0 +1,220 @@
+package bayern.steinbrecher.green2.memberManagement.data;
+
+import bayern.steinbrecher.green2.sharedBasis.utility.FxUpdateScheduler;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.SimpleObjectProperty;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Represents a property holding a {@link CompletableFuture}. It extends {@link SimpleObjectProperty} with the state of
+ * the wrapped {@link CompletableFuture}. The state is tracked by callbacks registered at the wrapped
+ * {@link CompletableFuture} instead of waiting for it. All changes of the state and the timings are applied on the FX
+ * application thread.
+ *
+ * @param <T> The type of the result of the wrapped {@link CompletableFuture}.
+ * @author Stefan Huber
+ * @since 2u14
+ */
+public class CompletableFutureProperty<T> extends SimpleObjectProperty<CompletableFuture<T>> {
+
+    private static final Logger LOGGER = Logger.getLogger(CompletableFutureProperty.class.getName());
+    private final ReadOnlyObjectWrapper<DataState> state = new ReadOnlyObjectWrapper<>(this, "state", DataState.EMPTY);
+    private final ReadOnlyBooleanWrapper available = new ReadOnlyBooleanWrapper(this, "available");
+    private Instant loadingStarted;
+    private Instant loadingCompleted;
+    private Duration loadingDuration;
+
+    /**
+     * Creates a {@link CompletableFutureProperty} containing {@code null}.
+     */
+    public CompletableFutureProperty() {
+        this(null);
+    }
+
+    /**
+     * Creates a {@link CompletableFutureProperty} containing the given value.
+     *
+     * @param initialValue The initial value.
+     */
+    public CompletableFutureProperty(CompletableFuture<T> initialValue) {
+        super(initialValue);
+        available.bind(state.isEqualTo(DataState.READY)
+                .or(state.isEqualTo(DataState.STALE)));
+        if (initialValue != null) {
+            trackState(initialValue);
+        }
+    }
+
+    private void trackState(CompletableFuture<T> newValue) {
+        Instant started = Instant.now();
+        FxUpdateScheduler.runOrSchedule(() -> {
+            if (newValue == null) {
+                state.set(DataState.EMPTY);
+            } else if (newValue == super.get()) {
+                loadingStarted = started;
+                state.set(DataState.LOADING);
+            }
+        });
+        if (newValue != null) {
+            newValue.whenComplete((result, exception) -> {
+                Instant completed = Instant.now();
+                if (exception != null) {
+                    LOGGER.log(Level.SEVERE, "The data could not be loaded.", exception);
+                }
+                FxUpdateScheduler.runOrSchedule(() -> {
+                    // NOTE A future replaced in the meantime must not influence the state anymore
+                    if (newValue == super.get()) {
+                        loadingCompleted = completed;
+                        loadingDuration = Duration.between(started, completed);
+                        state.set(exception == null ? DataState.READY : DataState.FAILED);
+                    }
+                });
+            });
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void set(CompletableFuture<T> newValue) {
+        super.set(newValue);
+        trackState(newValue);
+    }
+
+    /**
+     * This method does the same as {@link SimpleObjectProperty#get()} but throws a {@link IllegalStateException} when
+     * trying to get its value but there is no requestable value (means it is {@code null}.
+     *
+     * @return The value hold by this property.
+     * @see SimpleObjectProperty#get()
+     */
+    @Override
+    public CompletableFuture<T> get() {
+        CompletableFuture<T> value = super.get();
+        if (value == null) {
+            throw new IllegalStateException("There is no data queried yet.\n"
+                    + "You have to set a connection first before being able to operate on that data.");
+        }
+        return value;
+    }
+
+    /**
+     * Marks the loaded data as outdated, e.g. because it is known that the underlying data changed. It has only an
+     * effect if the data is currently {@link DataState#READY}.
+     */
+    public void markStale() {
+        FxUpdateScheduler.runOrSchedule(() -> {
+            if (state.get() == DataState.READY) {
+                state.set(DataState.STALE);
+            }
+        });
+    }
+
+    /**
+     * Returns the property holding the state of the data of the contained {@link Future}. It is only changed on the FX
+     * application thread.
+     *
+     * @return The property holding the state of the data of the contained {@link Future}.
+     */
+    public ReadOnlyObjectProperty<DataState> stateProperty() {
+        return state.getReadOnlyProperty();
+    }
+
+    /**
+     * Returns the state of the data of the contained {@link Future}.
+     *
+     * @return The state of the data of the contained {@link Future}.
+     */
+    public DataState getState() {
+        return stateProperty().get();
+    }
+
+    /**
+     * Returns the property holding whether the data of the contained {@link Future} object is available. This is the
+     * case if it is {@link DataState#READY} or {@link DataState#STALE}.
+     *
+     * @return The property holding whether the data of the contained {@link Future} object is available.
+     */
+    public ReadOnlyBooleanProperty availableProperty() {
+        return available.getReadOnlyProperty();
+    }
+
+    /**
+     * Checks whether the data of the contained {@link Future} object is available.
+     *
+     * @return {@code true} only if the data of the contained {@link Future} object is available.
+     */
+    public boolean isAvailable() {
+        return availableProperty().get();
+    }
+
+    /**
+     * Returns the point in time the currently contained {@link Future} started loading. Must only be called on the FX
+     * application thread.
+     *
+     * @return The point in time the currently contained {@link Future} started loading. Returns
+     * {@link Optional#empty()} if there is no {@link Future}.
+     */
+    public Optional<Instant> getLoadingStarted() {
+        return Optional.ofNullable(loadingStarted);
+    }
+
+    /**
+     * Returns the point in time any contained {@link Future} completed loading last. Must only be called on the FX
+     * application thread.
+     *
+     * @return The point in time any contained {@link Future} completed loading last. Returns {@link Optional#empty()}
+     * if no {@link Future} completed yet.
+     */
+    public Optional<Instant> getLoadingCompleted() {
+        return Optional.ofNullable(loadingCompleted);
+    }
+
+    /**
+     * Returns how long the last completed {@link Future} took from being set until its completion. Must only be called
+     * on the FX application thread.
+     *
+     * @return How long the last completed {@link Future} took. Returns {@link Optional#empty()} if no {@link Future}
+     * completed yet.
+     */
+    public Optional<Duration> getLoadingDuration() {
+        return Optional.ofNullable(loadingDuration);
+    }
+
+    /**
+     * Represents the states of the data of a {@link CompletableFutureProperty}.
+     */
+    public enum DataState {
+        /**
+         * There is no {@link Future} at all.
+         */
+        EMPTY,
+        /**
+         * The data is currently loading.
+         */
+        LOADING,
+        /**
+         * The data was loaded successfully.
+         */
+        READY,
+        /**
+         * The data could not be loaded.
+         */
+        FAILED,
+        /**
+         * The data was loaded successfully but is known to be outdated.
+         */
+        STALE
+    }
+}
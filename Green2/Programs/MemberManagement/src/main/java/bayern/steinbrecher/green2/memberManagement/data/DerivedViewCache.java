@@ -0,0 +1,86 @@
+package bayern.steinbrecher.green2.memberManagement.data;
+
+import bayern.steinbrecher.green2.sharedBasis.utility.MetricsRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Memoizes views derived from the queried data like filtered lists of member or flags about the presence of optional
+ * columns. All views are tied to a monotonically increasing data version. Whenever the underlying data changes
+ * {@link #invalidate()} has to be called which increases the version and evicts all views. A view which was calculated
+ * based on an outdated version is never returned. The hits and misses of all caches are counted in the
+ * {@link MetricsRegistry}.
+ *
+ * @author Stefan Huber
+ * @since 2u14
+ */
+public final class DerivedViewCache {
+
+    private static final MetricsRegistry.Counter HITS = MetricsRegistry.counter("view_cache.hits");
+    private static final MetricsRegistry.Counter MISSES = MetricsRegistry.counter("view_cache.misses");
+    private final AtomicLong dataVersion = new AtomicLong();
+    private final Map<String, VersionedView<?>> views = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the view associated with the given key. If there is no view for the current data version it is
+     * calculated and memoized. If the data version changes while calculating the view the result is returned but not
+     * memoized. Exceptions thrown by {@code calculation} are passed through and nothing is memoized.
+     *
+     * @param <T>         The type of the view.
+     * @param key         The key identifying the view. It must always be used for views of the same type.
+     * @param calculation The function calculating the view based on the current data.
+     * @return The view associated with the given key.
+     */
+    public <T> T get(String key, Supplier<T> calculation) {
+        long version = dataVersion.get();
+        VersionedView<?> view = views.get(key);
+        T value;
+        if (view != null && view.version() == version) {
+            @SuppressWarnings("unchecked")
+            T memoizedValue = (T) view.value();
+            value = memoizedValue;
+            HITS.increment();
+        } else {
+            MISSES.increment();
+            value = calculation.get();
+            if (dataVersion.get() == version) {
+                views.put(key, new VersionedView<>(version, value));
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Increases the data version and evicts all memoized views. It has to be called after the underlying data
+     * changed.
+     *
+     * @return The new data version.
+     */
+    public long invalidate() {
+        long newVersion = dataVersion.incrementAndGet();
+        views.clear();
+        return newVersion;
+    }
+
+    /**
+     * Returns the current version of the underlying data.
+     *
+     * @return The current version of the underlying data.
+     */
+    public long getDataVersion() {
+        return dataVersion.get();
+    }
+
+    /**
+     * Represents a view and the data version it was calculated for.
+     *
+     * @param version The data version the view was calculated for.
+     * @param value   The view.
+     * @param <T>     The type of the view.
+     */
+    private record VersionedView<T>(long version, T value) {
+    }
+}
@@ -0,0 +1,194 @@
+package bayern.steinbrecher.green2.memberManagement.data;
+
+import bayern.steinbrecher.green2.sharedBasis.people.Member;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Represents an index over the honorings of the current member. It keeps the set of all known numbers of years of
+ * membership which are honored (thresholds) and for each of them the member which were not honored yet sorted by the
+ * year they became member. When applying the differences between two snapshots only the member which were added,
+ * removed or changed are updated in the index.
+ *
+ * @author Stefan Huber
+ * @since 2u14
+ */
+public final class HonoringsIndex {
+
+    /**
+     * Sorts member by the year they became member and then by their membership number.
+     */
+    private static final Comparator<Member> MEMBERSHIP_ORDER
+            = Comparator.comparingInt((Member member) -> member.memberSince().getYear())
+            .thenComparing(Member::membershipnumber);
+    /**
+     * Maps membership numbers to the indexed member.
+     */
+    private final Map<String, Member> indexedMember = new HashMap<>();
+    /**
+     * Maps thresholds to the number of indexed member specifying whether they were honored for it.
+     */
+    private final Map<Integer, Integer> thresholdUsages = new HashMap<>();
+    /**
+     * Maps thresholds to the indexed member not honored for it yet sorted by {@link #MEMBERSHIP_ORDER}.
+     */
+    private final SortedMap<Integer, List<Member>> notHonored = new TreeMap<>();
+
+    /**
+     * Updates the index based on the differences between the snapshot of member which was indexed last and a new one.
+     * Only the member contained in {@code diff} are visited. Member which left the association or have no date of entry
+     * are not indexed. Applying a diff against an empty snapshot rebuilds the whole index.
+     *
+     * @param diff The differences between the snapshot indexed last and the new snapshot.
+     * @return {@code true} only if the set of thresholds changed.
+     * @see #getThresholds()
+     */
+    public synchronized boolean apply(SnapshotDiff diff) {
+        SortedSet<Integer> previousThresholds = new TreeSet<>(notHonored.keySet());
+        for (Member removed : diff.getRemoved()) {
+            reindex(removed.membershipnumber(), null);
+        }
+        for (SnapshotDiff.Change change : diff.getChanged()) {
+            reindex(change.current().membershipnumber(), change.current());
+        }
+        for (Member added : diff.getAdded()) {
+            reindex(added.membershipnumber(), added);
+        }
+        return !previousThresholds.equals(notHonored.keySet());
+    }
+
+    /**
+     * Updates the indexed member having the given membership number.
+     *
+     * @param updated The new version of the member or {@code null} if it was removed.
+     */
+    private void reindex(String membershipnumber, Member updated) {
+        Member indexed = indexedMember.get(membershipnumber);
+        boolean indexable = updated != null && updated.leavingDate().isEmpty() && updated.memberSince() != null;
+        if (indexed != null && (!indexable || !isIndexedEqually(indexed, updated))) {
+            unindex(indexed);
+            indexed = null;
+        }
+        if (indexable) {
+            if (indexed == null) {
+                index(updated);
+            } else {
+                replace(indexed, updated);
+            }
+        }
+    }
+
+    private static boolean isIndexedEqually(Member indexed, Member updated) {
+        return indexed.memberSince().getYear() == updated.memberSince().getYear()
+                && indexed.honorings().equals(updated.honorings());
+    }
+
+    private static boolean wasHonored(Member member, int threshold) {
+        return member.honorings().getOrDefault(threshold, Boolean.FALSE);
+    }
+
+    private void index(Member member) {
+        indexedMember.put(member.membershipnumber(), member);
+        List<Integer> newThresholds = new ArrayList<>();
+        for (Integer threshold : member.honorings().keySet()) {
+            int usages = thresholdUsages.merge(threshold, 1, Integer::sum);
+            if (usages == 1) {
+                newThresholds.add(threshold);
+            }
+        }
+        for (Map.Entry<Integer, List<Member>> entry : notHonored.entrySet()) {
+            if (!wasHonored(member, entry.getKey())) {
+                List<Member> notHonoredMember = entry.getValue();
+                int insertionPoint = -Collections.binarySearch(notHonoredMember, member, MEMBERSHIP_ORDER) - 1;
+                notHonoredMember.add(insertionPoint, member);
+            }
+        }
+        // NOTE A new threshold requires to check all indexed member (including the given one)
+        for (Integer threshold : newThresholds) {
+            List<Member> notHonoredMember = new ArrayList<>();
+            for (Member indexed : indexedMember.values()) {
+                if (!wasHonored(indexed, threshold)) {
+                    notHonoredMember.add(indexed);
+                }
+            }
+            notHonoredMember.sort(MEMBERSHIP_ORDER);
+            notHonored.put(threshold, notHonoredMember);
+        }
+    }
+
+    private void unindex(Member member) {
+        indexedMember.remove(member.membershipnumber());
+        for (Map.Entry<Integer, List<Member>> entry : notHonored.entrySet()) {
+            if (!wasHonored(member, entry.getKey())) {
+                List<Member> notHonoredMember = entry.getValue();
+                notHonoredMember.remove(Collections.binarySearch(notHonoredMember, member, MEMBERSHIP_ORDER));
+            }
+        }
+        for (Integer threshold : member.honorings().keySet()) {
+            int usages = thresholdUsages.merge(threshold, -1, Integer::sum);
+            if (usages <= 0) {
+                thresholdUsages.remove(threshold);
+                notHonored.remove(threshold);
+            }
+        }
+    }
+
+    /**
+     * Replaces an indexed member by an updated version whose indexed attributes did not change. Hence it keeps its
+     * positions.
+     */
+    private void replace(Member indexed, Member updated) {
+        indexedMember.put(updated.membershipnumber(), updated);
+        for (Map.Entry<Integer, List<Member>> entry : notHonored.entrySet()) {
+            if (!wasHonored(indexed, entry.getKey())) {
+                List<Member> notHonoredMember = entry.getValue();
+                notHonoredMember.set(Collections.binarySearch(notHonoredMember, indexed, MEMBERSHIP_ORDER), updated);
+            }
+        }
+    }
+
+    /**
+     * Returns all known thresholds, i.e. all numbers of years of membership any current member specifies whether he
+     * was honored for.
+     *
+     * @return All known thresholds in ascending order.
+     */
+    public synchronized SortedSet<Integer> getThresholds() {
+        return new TreeSet<>(notHonored.keySet());
+    }
+
+    /**
+     * Returns all current member which were not honored for being {@code threshold} years member yet but are at least
+     * {@code threshold} years member in year {@code year}.
+     *
+     * @param threshold The number of years of membership.
+     * @param year      The year to check the membership duration at.
+     * @return The member to honor sorted by the year they became member. The list is empty if {@code threshold} is
+     * unknown.
+     */
+    public synchronized List<Member> getDueMember(int threshold, int year) {
+        List<Member> notHonoredMember = notHonored.getOrDefault(threshold, List.of());
+        int latestEntryYear = year - threshold;
+        // Find the first member who entered after latestEntryYear
+        int low = 0;
+        int high = notHonoredMember.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (notHonoredMember.get(mid).memberSince().getYear() <= latestEntryYear) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return new ArrayList<>(notHonoredMember.subList(0, low));
+    }
+}
@@ -0,0 +1,213 @@
+package bayern.steinbrecher.green2.memberManagement.data;
+
+import bayern.steinbrecher.dbConnector.DBConnection;
+import bayern.steinbrecher.dbConnector.query.QueryFailedException;
+import bayern.steinbrecher.dbConnector.query.SupportedDBMS;
+import bayern.steinbrecher.green2.sharedBasis.data.Tables;
+import bayern.steinbrecher.green2.sharedBasis.diagnostics.DbQueryTracer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Advises indexes which support the queries Green2 issues. Each advised index belongs to an access pattern like the
+ * selection of member which did not leave yet by their birthdays. An index is missing if no existing index starts with
+ * its columns. The savings of created indexes are estimated by comparing the number of rows {@code EXPLAIN} reports for
+ * the access pattern before and after creating the index.
+ *
+ * @author Stefan Huber
+ * @since 2u14
+ */
+public final class IndexAdvisor {
+
+    private static final Logger LOGGER = Logger.getLogger(IndexAdvisor.class.getName());
+    private static final String HONORING_COLUMN_REGEX = "^[0-9]+MitgliedGeehrt$";
+    private final DBConnection connection;
+
+    /**
+     * Creates an advisor for the database accessible over the given connection.
+     *
+     * @param connection The connection to the database to advise indexes for.
+     * @see #isSupported(DBConnection)
+     */
+    public IndexAdvisor(DBConnection connection) {
+        if (!isSupported(connection)) {
+            throw new IllegalArgumentException("Indexes can be advised for MySQL only");
+        }
+        this.connection = Objects.requireNonNull(connection);
+    }
+
+    /**
+     * Checks whether indexes can be advised for the database of the given connection.
+     *
+     * @param connection The connection to check.
+     * @return {@code true} only if indexes can be advised for the database of the given connection.
+     */
+    public static boolean isSupported(DBConnection connection) {
+        return connection.getDbms() == SupportedDBMS.MY_SQL;
+    }
+
+    private String qualify(String tableName) {
+        return "`" + connection.getDatabaseName() + "`.`" + tableName + "`";
+    }
+
+    private List<String> queryColumn(String query) throws QueryFailedException {
+        return DbQueryTracer.execQuery(connection, query)
+                .stream()
+                .skip(1) // Skip column names
+                .map(row -> row.get(0))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the indexes supporting the queries Green2 issues. The honoring columns of {@link Tables#MEMBER} are
+     * looked up in the database since they are not known in advance.
+     */
+    private List<IndexAdvice> generateAdvices() throws QueryFailedException {
+        String memberTable = Tables.MEMBER.getTableName();
+        List<IndexAdvice> advices = new ArrayList<>();
+        // NOTE Used by the birthday notifications and the serial letters for birthdays
+        advices.add(new IndexAdvice(memberTable + "_Ausgetreten_Geburtstag", memberTable,
+                List.of("AusgetretenSeit", "Geburtstag"),
+                "`AusgetretenSeit` IS NULL AND `Geburtstag` > CURDATE() - INTERVAL 50 YEAR"));
+        advices.add(new IndexAdvice(memberTable + "_PLZ", memberTable, List.of("PLZ"), "`PLZ` = ''"));
+        List<String> honoringColumns = queryColumn(String.format(
+                "SELECT COLUMN_NAME FROM information_schema.COLUMNS "
+                        + "WHERE TABLE_SCHEMA = '%s' AND TABLE_NAME = '%s' AND COLUMN_NAME REGEXP '%s'",
+                connection.getDatabaseName(), memberTable, HONORING_COLUMN_REGEX));
+        for (String honoringColumn : honoringColumns) {
+            advices.add(new IndexAdvice(memberTable + "_" + honoringColumn, memberTable,
+                    List.of(honoringColumn, "MitgliedSeit"),
+                    String.format("`%s` = FALSE AND `MitgliedSeit` < CURDATE()", honoringColumn)));
+        }
+        // NOTE Used for joining nicknames when querying serial letters
+        String nicknamesTable = Tables.NICKNAMES.getTableName();
+        advices.add(new IndexAdvice(nicknamesTable + "_Name", nicknamesTable, List.of("Name"), "`Name` = ''"));
+        return advices;
+    }
+
+    /**
+     * Returns the columns of all existing indexes of the given table ordered by their position within the index.
+     */
+    private Collection<List<String>> queryIndexedColumns(String tableName) throws QueryFailedException {
+        List<List<String>> statistics = DbQueryTracer.execQuery(connection, String.format(
+                "SELECT INDEX_NAME, COLUMN_NAME FROM information_schema.STATISTICS "
+                        + "WHERE TABLE_SCHEMA = '%s' AND TABLE_NAME = '%s' ORDER BY INDEX_NAME, SEQ_IN_INDEX",
+                connection.getDatabaseName(), tableName));
+        Map<String, List<String>> indexedColumns = new HashMap<>();
+        for (List<String> row : statistics.subList(Math.min(1, statistics.size()), statistics.size())) {
+            indexedColumns.computeIfAbsent(row.get(0), indexName -> new ArrayList<>())
+                    .add(row.get(1));
+        }
+        return indexedColumns.values();
+    }
+
+    /**
+     * Returns the advised indexes which do not exist yet. An advised index exists if any index of its table starts
+     * with the columns of the advised index.
+     *
+     * @return The advised indexes which do not exist yet.
+     * @throws QueryFailedException Thrown if the existing indexes could not be queried.
+     */
+    public List<IndexAdvice> findMissingIndexes() throws QueryFailedException {
+        Map<String, Collection<List<String>>> indexedColumns = new HashMap<>();
+        List<IndexAdvice> missingIndexes = new ArrayList<>();
+        for (IndexAdvice advice : generateAdvices()) {
+            if (!indexedColumns.containsKey(advice.tableName())) {
+                indexedColumns.put(advice.tableName(), queryIndexedColumns(advice.tableName()));
+            }
+            boolean exists = indexedColumns.get(advice.tableName())
+                    .stream()
+                    .anyMatch(columns -> columns.size() >= advice.columns().size()
+                            && columns.subList(0, advice.columns().size()).equals(advice.columns()));
+            if (!exists) {
+                missingIndexes.add(advice);
+            }
+        }
+        return missingIndexes;
+    }
+
+    /**
+     * Returns the number of rows MySQL estimates to examine for the access pattern of the given advice.
+     */
+    private long estimateExaminedRows(IndexAdvice advice) throws QueryFailedException {
+        List<List<String>> plan = DbQueryTracer.execQuery(connection, String.format(
+                "EXPLAIN SELECT * FROM %s WHERE %s", qualify(advice.tableName()), advice.accessPattern()));
+        long examinedRows = 0;
+        if (!plan.isEmpty()) {
+            int rowsIndex = plan.get(0).indexOf("rows");
+            if (rowsIndex >= 0) {
+                for (List<String> step : plan.subList(1, plan.size())) {
+                    String rows = step.get(rowsIndex);
+                    if (rows != null) {
+                        examinedRows += Long.parseLong(rows);
+                    }
+                }
+            }
+        }
+        return examinedRows;
+    }
+
+    /**
+     * Creates the given indexes and estimates the savings of each of them.
+     *
+     * @param advices The indexes to create.
+     * @return The estimated savings of each created index.
+     * @throws QueryFailedException Thrown if any index could not be created. The indexes created before are kept.
+     * @see #findMissingIndexes()
+     */
+    public List<IndexReport> createIndexes(Collection<IndexAdvice> advices) throws QueryFailedException {
+        List<IndexReport> reports = new ArrayList<>();
+        for (IndexAdvice advice : advices) {
+            long rowsBefore = estimateExaminedRows(advice);
+            LOGGER.log(Level.INFO, "Creating index {0}", advice.indexName());
+            connection.execUpdate(String.format("CREATE INDEX `%s` ON %s (%s)",
+                    advice.indexName(), qualify(advice.tableName()), advice.columns()
+                            .stream()
+                            .map(column -> "`" + column + "`")
+                            .collect(Collectors.joining(", "))));
+            IndexReport report = new IndexReport(advice, rowsBefore, estimateExaminedRows(advice));
+            LOGGER.log(Level.INFO, "Index {0} reduces the estimated number of examined rows from {1} to {2}",
+                    new Object[]{advice.indexName(), report.rowsBefore(), report.rowsAfter()});
+            reports.add(report);
+        }
+        return reports;
+    }
+
+    /**
+     * Represents an index supporting an access pattern of Green2.
+     *
+     * @param indexName     The name of the index.
+     * @param tableName     The name of the table to index.
+     * @param columns       The columns to index in the order of their significance.
+     * @param accessPattern A representative condition of the queries the index supports.
+     */
+    public record IndexAdvice(String indexName, String tableName, List<String> columns, String accessPattern) {
+    }
+
+    /**
+     * Represents the estimated savings of a created index.
+     *
+     * @param advice     The created index.
+     * @param rowsBefore The estimated number of rows examined by the access pattern before creating the index.
+     * @param rowsAfter  The estimated number of rows examined by the access pattern after creating the index.
+     */
+    public record IndexReport(IndexAdvice advice, long rowsBefore, long rowsAfter) {
+
+        /**
+         * Returns the estimated number of rows less examined due to the index.
+         *
+         * @return The estimated number of rows less examined due to the index.
+         */
+        public long estimatedSavings() {
+            return rowsBefore - rowsAfter;
+        }
+    }
+}
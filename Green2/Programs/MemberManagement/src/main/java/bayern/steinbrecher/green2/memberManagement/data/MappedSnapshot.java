@@ -0,0 +1,483 @@
+package bayern.steinbrecher.green2.memberManagement.data;
+
+import bayern.steinbrecher.green2.sharedBasis.data.Tables;
+import bayern.steinbrecher.green2.sharedBasis.people.AddressBuilder;
+import bayern.steinbrecher.green2.sharedBasis.people.Member;
+import bayern.steinbrecher.green2.sharedBasis.people.MemberBuilder;
+import bayern.steinbrecher.green2.sharedBasis.people.PersonBuilder;
+import bayern.steinbrecher.sepaxmlgenerator.AccountHolderBuilder;
+import bayern.steinbrecher.sepaxmlgenerator.BIC;
+import bayern.steinbrecher.sepaxmlgenerator.DirectDebitMandateBuilder;
+import bayern.steinbrecher.sepaxmlgenerator.IBAN;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Represents a {@link MemberSnapshot} stored in the columnar format of {@link SnapshotStore}. The time the snapshot
+ * was created is decrypted on its own. Hence it can be shown before deciding whether to decode all the other columns.
+ * <p>
+ * The file starts with a prefix written by {@link SnapshotStore} which is followed by a directory of all blocks. Each
+ * entry of the directory contains the column, the offset, the length and the IV of a block. Each column is stored in
+ * its own block which is encrypted separately using AES-GCM. The whole header up to the end of the directory is
+ * authenticated with every block. Hence neither the directory nor any block can be modified or exchanged without being
+ * detected. Strings are dictionary encoded per column since many member share e.g. the same place or postcode.
+ *
+ * @author Stefan Huber
+ * @since 2u14
+ */
+public final class MappedSnapshot {
+
+    private static final String CIPHER_ALGORITHM = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH = 128; // [bit]
+    private static final int DIRECTORY_ENTRY_LENGTH = 3 * Integer.BYTES + IV_LENGTH;
+    private static final int NULL_CODE = -1;
+    private static final long NULL_DATE = Long.MIN_VALUE;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private final ByteBuffer content;
+    private final int headerLength;
+    private final SecretKey key;
+    private final Map<Column, Block> directory = new EnumMap<>(Column.class);
+    private final Map<Column, List<?>> decodedColumns = new EnumMap<>(Column.class);
+    private LocalDateTime created;
+
+    /**
+     * Reads the directory of the given snapshot. No block is decrypted yet.
+     *
+     * @param content      The content of the whole file.
+     * @param prefixLength The number of bytes written by {@link SnapshotStore} in front of the directory.
+     * @param key          The key all blocks are encrypted with.
+     * @throws IOException Thrown if the directory is malformed.
+     */
+    MappedSnapshot(ByteBuffer content, int prefixLength, SecretKey key) throws IOException {
+        this.content = content.asReadOnlyBuffer();
+        this.key = Objects.requireNonNull(key);
+        try {
+            ByteBuffer header = this.content.duplicate()
+                    .position(prefixLength);
+            int blockCount = header.getInt();
+            for (int i = 0; i < blockCount; i++) {
+                int ordinal = header.getInt();
+                int offset = header.getInt();
+                int length = header.getInt();
+                byte[] iv = new byte[IV_LENGTH];
+                header.get(iv);
+                if (ordinal < 0 || ordinal >= Column.values().length) {
+                    throw new IOException("The snapshot contains the unknown column " + ordinal);
+                }
+                if (offset < 0 || length < 0 || offset > content.limit() - length) {
+                    throw new IOException("The block of column " + Column.values()[ordinal] + " exceeds the file");
+                }
+                directory.put(Column.values()[ordinal], new Block(offset, length, iv));
+            }
+            headerLength = header.position();
+        } catch (BufferUnderflowException ex) {
+            throw new IOException("The directory of the snapshot is truncated", ex);
+        }
+    }
+
+    /**
+     * Encodes the given snapshot as columns and encrypts each of them.
+     *
+     * @param snapshot The snapshot to encode.
+     * @param prefix   The bytes to write in front of the directory. They are authenticated with every block.
+     * @param key      The key to encrypt the blocks with.
+     * @return The content of the whole file.
+     */
+    static byte[] encode(MemberSnapshot snapshot, byte[] prefix, SecretKey key)
+            throws IOException, GeneralSecurityException {
+        List<Member> member = List.copyOf(snapshot.member());
+        List<Map.Entry<String, String>> nicknames = List.copyOf(snapshot.nicknames().entrySet());
+        Map<Column, byte[]> plainBlocks = new EnumMap<>(Column.class);
+        for (Column column : Column.values()) {
+            plainBlocks.put(column, encodeColumn(column, snapshot.created(), member, nicknames));
+        }
+
+        // NOTE The header is authenticated with every block. Hence it has to be complete before encrypting any block.
+        int tagBytes = TAG_LENGTH / Byte.SIZE;
+        int offset = prefix.length + Integer.BYTES + plainBlocks.size() * DIRECTORY_ENTRY_LENGTH;
+        Map<Column, byte[]> ivs = new EnumMap<>(Column.class);
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(header)) {
+            output.write(prefix);
+            output.writeInt(plainBlocks.size());
+            for (Map.Entry<Column, byte[]> plainBlock : plainBlocks.entrySet()) {
+                byte[] iv = new byte[IV_LENGTH];
+                RANDOM.nextBytes(iv);
+                ivs.put(plainBlock.getKey(), iv);
+                int length = plainBlock.getValue().length + tagBytes;
+                output.writeInt(plainBlock.getKey().ordinal());
+                output.writeInt(offset);
+                output.writeInt(length);
+                output.write(iv);
+                offset += length;
+            }
+        }
+        byte[] headerBytes = header.toByteArray();
+
+        ByteArrayOutputStream content = new ByteArrayOutputStream(offset);
+        content.write(headerBytes);
+        for (Map.Entry<Column, byte[]> plainBlock : plainBlocks.entrySet()) {
+            Cipher cipher = Cipher.getInstance(CIPHER_ALGORITHM);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH, ivs.get(plainBlock.getKey())));
+            cipher.updateAAD(headerBytes);
+            content.write(cipher.doFinal(plainBlock.getValue()));
+        }
+        return content.toByteArray();
+    }
+
+    private static byte[] encodeColumn(Column column, LocalDateTime created, List<Member> member,
+                                       List<Map.Entry<String, String>> nicknames) throws IOException {
+        List<?> values = switch (column) {
+            case META -> List.of();
+            case NICKNAME_NAMES -> nicknames.stream()
+                    .map(Map.Entry::getKey)
+                    .toList();
+            case NICKNAMES -> nicknames.stream()
+                    .map(Map.Entry::getValue)
+                    .toList();
+            default -> member.stream()
+                    .map(column.memberValue)
+                    .toList();
+        };
+        ByteArrayOutputStream block = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(block)) {
+            if (column == Column.META) {
+                output.writeLong(created.toEpochSecond(ZoneOffset.UTC));
+            } else {
+                output.writeInt(values.size());
+                switch (column.type) {
+                    case STRING -> encodeStrings(output, values);
+                    case BOOLEAN -> {
+                        for (Object value : values) {
+                            output.writeByte(value == null ? NULL_CODE : ((Boolean) value ? 1 : 0));
+                        }
+                    }
+                    case DATE -> {
+                        for (Object value : values) {
+                            output.writeLong(value == null ? NULL_DATE : ((LocalDate) value).toEpochDay());
+                        }
+                    }
+                    case DOUBLE -> {
+                        for (Object value : values) {
+                            output.writeBoolean(value != null);
+                            output.writeDouble(value == null ? 0 : (Double) value);
+                        }
+                    }
+                    case HONORINGS -> {
+                        for (Object value : values) {
+                            Map<?, ?> honorings = value == null ? Map.of() : (Map<?, ?>) value;
+                            output.writeInt(honorings.size());
+                            for (Map.Entry<?, ?> honoring : honorings.entrySet()) {
+                                output.writeInt((Integer) honoring.getKey());
+                                Boolean wasHonored = (Boolean) honoring.getValue();
+                                output.writeByte(wasHonored == null ? NULL_CODE : (wasHonored ? 1 : 0));
+                            }
+                        }
+                    }
+                    default -> throw new IllegalStateException("Unhandled column type " + column.type);
+                }
+            }
+        }
+        return block.toByteArray();
+    }
+
+    /**
+     * Writes the distinct strings of a column followed by the index of each value within them.
+     */
+    private static void encodeStrings(DataOutputStream output, List<?> values) throws IOException {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        for (Object value : values) {
+            if (value != null) {
+                dictionary.putIfAbsent((String) value, dictionary.size());
+            }
+        }
+        output.writeInt(dictionary.size());
+        for (String entry : dictionary.keySet()) {
+            byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+        for (Object value : values) {
+            output.writeInt(value == null ? NULL_CODE : dictionary.get((String) value));
+        }
+    }
+
+    /**
+     * Decrypts the block of the given column.
+     */
+    private ByteBuffer decrypt(Column column) throws IOException, GeneralSecurityException {
+        Block block = directory.get(column);
+        if (block == null) {
+            throw new IOException("The snapshot contains no column " + column);
+        }
+        Cipher cipher = Cipher.getInstance(CIPHER_ALGORITHM);
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH, block.iv()));
+        cipher.updateAAD(content.duplicate()
+                .position(0)
+                .limit(headerLength));
+        ByteBuffer plain = ByteBuffer.allocate(cipher.getOutputSize(block.length()));
+        cipher.doFinal(content.duplicate()
+                .position(block.offset())
+                .limit(block.offset() + block.length()), plain);
+        return plain.flip();
+    }
+
+    private List<?> getColumn(Column column, ColumnType expectedType) throws IOException, GeneralSecurityException {
+        if (column.type != expectedType) {
+            throw new IllegalArgumentException(column + " is no column of type " + expectedType);
+        }
+        List<?> values = decodedColumns.get(column);
+        if (values == null) {
+            values = decodeColumn(column, decrypt(column));
+            decodedColumns.put(column, values);
+        }
+        return values;
+    }
+
+    private static List<?> decodeColumn(Column column, ByteBuffer block) throws IOException {
+        try {
+            Object[] values = new Object[block.getInt()];
+            switch (column.type) {
+                case STRING -> {
+                    String[] dictionary = new String[block.getInt()];
+                    for (int i = 0; i < dictionary.length; i++) {
+                        byte[] bytes = new byte[block.getInt()];
+                        block.get(bytes);
+                        dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+                    }
+                    for (int i = 0; i < values.length; i++) {
+                        int code = block.getInt();
+                        values[i] = code == NULL_CODE ? null : dictionary[code];
+                    }
+                }
+                case BOOLEAN -> {
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = decodeBoolean(block.get());
+                    }
+                }
+                case DATE -> {
+                    for (int i = 0; i < values.length; i++) {
+                        long epochDay = block.getLong();
+                        values[i] = epochDay == NULL_DATE ? null : LocalDate.ofEpochDay(epochDay);
+                    }
+                }
+                case DOUBLE -> {
+                    for (int i = 0; i < values.length; i++) {
+                        boolean present = block.get() != 0;
+                        double value = block.getDouble();
+                        values[i] = present ? value : null;
+                    }
+                }
+                case HONORINGS -> {
+                    for (int i = 0; i < values.length; i++) {
+                        Map<Integer, Boolean> honorings = new HashMap<>();
+                        int honoringsCount = block.getInt();
+                        for (int j = 0; j < honoringsCount; j++) {
+                            honorings.put(block.getInt(), decodeBoolean(block.get()));
+                        }
+                        values[i] = honorings;
+                    }
+                }
+                default -> throw new IllegalStateException("Unhandled column type " + column.type);
+            }
+            return Collections.unmodifiableList(Arrays.asList(values));
+        } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException | NegativeArraySizeException ex) {
+            throw new IOException("The block of column " + column + " is malformed", ex);
+        }
+    }
+
+    private static Boolean decodeBoolean(byte value) {
+        return value == NULL_CODE ? null : value == 1;
+    }
+
+    /**
+     * Returns the time the data of the snapshot was known to be up to date.
+     *
+     * @return The time the data of the snapshot was known to be up to date.
+     * @throws IOException              Thrown if the block of the column is malformed.
+     * @throws GeneralSecurityException Thrown if the block of the column could not be decrypted.
+     */
+    public synchronized LocalDateTime getCreated() throws IOException, GeneralSecurityException {
+        if (created == null) {
+            try {
+                created = LocalDateTime.ofEpochSecond(decrypt(Column.META).getLong(), 0, ZoneOffset.UTC);
+            } catch (BufferUnderflowException ex) {
+                throw new IOException("The block of column " + Column.META + " is malformed", ex);
+            }
+        }
+        return created;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> getStrings(Column column) throws IOException, GeneralSecurityException {
+        return (List<String>) getColumn(column, ColumnType.STRING);
+    }
+
+    private Map<String, String> getNicknames() throws IOException, GeneralSecurityException {
+        List<String> names = getStrings(Column.NICKNAME_NAMES);
+        List<String> nicknames = getStrings(Column.NICKNAMES);
+        if (names.size() != nicknames.size()) {
+            throw new IOException("The snapshot contains a different number of names and nicknames");
+        }
+        Map<String, String> mapping = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            mapping.put(names.get(i), nicknames.get(i));
+        }
+        return mapping;
+    }
+
+    /**
+     * Decodes all columns and creates the represented snapshot.
+     *
+     * @return The represented snapshot.
+     * @throws IOException              Thrown if any block is malformed.
+     * @throws GeneralSecurityException Thrown if any block could not be decrypted.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized MemberSnapshot toMemberSnapshot() throws IOException, GeneralSecurityException {
+        List<String> membershipnumbers = getStrings(Column.MEMBERSHIPNUMBER);
+        Map<Column, List<?>> columns = new EnumMap<>(Column.class);
+        for (Column column : Column.values()) {
+            if (column.memberValue != null) {
+                List<?> values = getColumn(column, column.type);
+                if (values.size() != membershipnumbers.size()) {
+                    throw new IOException("The column " + column + " has a different number of rows");
+                }
+                columns.put(column, values);
+            }
+        }
+
+        Set<Member> member = new HashSet<>();
+        for (int row = 0; row < membershipnumbers.size(); row++) {
+            Map<Column, Object> values = new EnumMap<>(Column.class);
+            for (Map.Entry<Column, List<?>> column : columns.entrySet()) {
+                values.put(column.getKey(), column.getValue().get(row));
+            }
+            Tables.MemberTableEntryBuilder entry = new Tables.MemberTableEntryBuilder()
+                    .changeMandate(DirectDebitMandateBuilder::id, (String) values.get(Column.MEMBERSHIPNUMBER))
+                    .changePerson(PersonBuilder::firstname, (String) values.get(Column.FIRSTNAME))
+                    .changePerson(PersonBuilder::lastname, (String) values.get(Column.LASTNAME))
+                    .changePerson(PersonBuilder::title, (String) values.get(Column.TITLE))
+                    .changePerson(PersonBuilder::male, Boolean.TRUE.equals(values.get(Column.MALE)))
+                    .changePerson(PersonBuilder::birthday, (LocalDate) values.get(Column.BIRTHDAY))
+                    .changeMember(MemberBuilder::memberSince, (LocalDate) values.get(Column.MEMBER_SINCE))
+                    .changeHome(AddressBuilder::street, (String) values.get(Column.STREET))
+                    .changeHome(AddressBuilder::houseNumber, (String) values.get(Column.HOUSE_NUMBER))
+                    .changeHome(AddressBuilder::postcode, (String) values.get(Column.POSTCODE))
+                    .changeHome(AddressBuilder::place, (String) values.get(Column.PLACE))
+                    .changeMember(MemberBuilder::contributionfree,
+                            Boolean.TRUE.equals(values.get(Column.CONTRIBUTIONFREE)));
+            if (values.get(Column.OWNER_IBAN) != null) {
+                entry.changeOwner(AccountHolderBuilder::iban, new IBAN((String) values.get(Column.OWNER_IBAN)));
+            }
+            if (values.get(Column.OWNER_BIC) != null) {
+                entry.changeOwner(AccountHolderBuilder::bic, new BIC((String) values.get(Column.OWNER_BIC)));
+            }
+            entry.changeOwner(AccountHolderBuilder::firstname, (String) values.get(Column.OWNER_FIRSTNAME))
+                    .changeOwner(AccountHolderBuilder::lastname, (String) values.get(Column.OWNER_LASTNAME))
+                    .changeMandate(DirectDebitMandateBuilder::signed, (LocalDate) values.get(Column.MANDATE_SIGNED))
+                    .changeMember(MemberBuilder::contribution,
+                            Optional.ofNullable((Double) values.get(Column.CONTRIBUTION)))
+                    .changeMember(MemberBuilder::active, Optional.ofNullable((Boolean) values.get(Column.ACTIVE)))
+                    .changeMember(MemberBuilder::leavingDate,
+                            Optional.ofNullable((LocalDate) values.get(Column.LEAVING_DATE)));
+            for (Map.Entry<Integer, Boolean> honoring
+                    : ((Map<Integer, Boolean>) values.get(Column.HONORINGS)).entrySet()) {
+                if (honoring.getValue() != null) {
+                    entry.addHonoring(honoring.getKey(), honoring.getValue());
+                }
+            }
+            member.add(entry.build());
+        }
+        return new MemberSnapshot(member, getNicknames(), getCreated());
+    }
+
+    /**
+     * The columns of a snapshot. Except {@link #META}, {@link #NICKNAME_NAMES} and {@link #NICKNAMES} each column
+     * contains one value of every member. The ordinals of the columns are part of the format. Hence new columns have
+     * to be appended.
+     */
+    private enum Column {
+        /**
+         * Contains the time the snapshot was created.
+         */
+        META(ColumnType.META, null),
+        MEMBERSHIPNUMBER(ColumnType.STRING, Member::membershipnumber),
+        FIRSTNAME(ColumnType.STRING, member -> member.person().firstname()),
+        LASTNAME(ColumnType.STRING, member -> member.person().lastname()),
+        TITLE(ColumnType.STRING, member -> member.person().title()),
+        MALE(ColumnType.BOOLEAN, member -> member.person().male()),
+        BIRTHDAY(ColumnType.DATE, member -> member.person().birthday()),
+        MEMBER_SINCE(ColumnType.DATE, Member::memberSince),
+        STREET(ColumnType.STRING, member -> member.home().street()),
+        HOUSE_NUMBER(ColumnType.STRING, member -> member.home().houseNumber()),
+        POSTCODE(ColumnType.STRING, member -> member.home().postcode()),
+        PLACE(ColumnType.STRING, member -> member.home().place()),
+        CONTRIBUTIONFREE(ColumnType.BOOLEAN, Member::contributionfree),
+        OWNER_IBAN(ColumnType.STRING, member -> Optional.ofNullable(member.mandate().owner().iban())
+                .map(IBAN::value)
+                .orElse(null)),
+        OWNER_BIC(ColumnType.STRING, member -> Optional.ofNullable(member.mandate().owner().bic())
+                .map(BIC::value)
+                .orElse(null)),
+        OWNER_FIRSTNAME(ColumnType.STRING, member -> member.mandate().owner().firstname()),
+        OWNER_LASTNAME(ColumnType.STRING, member -> member.mandate().owner().lastname()),
+        MANDATE_SIGNED(ColumnType.DATE, member -> member.mandate().signed()),
+        CONTRIBUTION(ColumnType.DOUBLE, member -> member.contribution().orElse(null)),
+        ACTIVE(ColumnType.BOOLEAN, member -> member.active().orElse(null)),
+        LEAVING_DATE(ColumnType.DATE, member -> member.leavingDate().orElse(null)),
+        HONORINGS(ColumnType.HONORINGS, Member::honorings),
+        /**
+         * Contains the names which have a nickname.
+         */
+        NICKNAME_NAMES(ColumnType.STRING, null),
+        /**
+         * Contains the nicknames in the order of {@link #NICKNAME_NAMES}.
+         */
+        NICKNAMES(ColumnType.STRING, null);
+
+        private final ColumnType type;
+        /**
+         * Extracts the value of this column from a member or {@code null} if this is no column of member.
+         */
+        private final Function<Member, ?> memberValue;
+
+        Column(ColumnType type, Function<Member, ?> memberValue) {
+            this.type = type;
+            this.memberValue = memberValue;
+        }
+    }
+
+    private enum ColumnType {
+        META, STRING, BOOLEAN, DATE, DOUBLE, HONORINGS
+    }
+
+    private record Block(int offset, int length, byte[] iv) {
+    }
+}
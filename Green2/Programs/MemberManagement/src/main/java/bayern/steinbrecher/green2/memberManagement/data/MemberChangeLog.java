@@ -0,0 +1,276 @@
+package bayern.steinbrecher.green2.memberManagement.data;
+
+import bayern.steinbrecher.dbConnector.DBConnection;
+import bayern.steinbrecher.dbConnector.DBConnection.Table;
+import bayern.steinbrecher.dbConnector.query.QueryFailedException;
+import bayern.steinbrecher.dbConnector.query.SupportedDBMS;
+import bayern.steinbrecher.green2.sharedBasis.data.Tables;
+import bayern.steinbrecher.green2.sharedBasis.diagnostics.DbQueryTracer;
+import bayern.steinbrecher.green2.sharedBasis.people.Member;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the changes of member logged in {@link Tables#MEMBER_CHANGES}. The log is maintained by triggers on
+ * {@link Tables#MEMBER} which are installed by {@link #install()}. Each change is appended to the log with an
+ * {@code AUTO_INCREMENT} sequence number. The highest sequence number read is the sync token for reading the next
+ * changes. Hence refreshing member requires only to query the member which changed since the last sync token.
+ * <p>
+ * The sequence number is assigned when a change is inserted but the change becomes visible not before its transaction
+ * commits. Hence a change may become visible after changes having higher sequence numbers. Therefore the last
+ * {@link #SYNC_WINDOW} changes before a sync token are read again and the sync token contains the number of changes
+ * within this window. A change is missed only if more than {@link #SYNC_WINDOW} later changes commit before it does.
+ *
+ * @author Stefan Huber
+ * @since 2u14
+ */
+public final class MemberChangeLog {
+
+    private static final Logger LOGGER = Logger.getLogger(MemberChangeLog.class.getName());
+    /**
+     * The maximum number of membership numbers to query at once.
+     */
+    private static final int MAX_MEMBER_PER_QUERY = 500;
+    /**
+     * The number of changes before a sync token which are read again.
+     */
+    private static final int SYNC_WINDOW = 100;
+    private static final String SYNC_TOKEN_SEPARATOR = ":";
+    private static final String MEMBERSHIPNUMBER_COLUMN = "Mitgliedsnummer";
+    private static final String SEQUENCE_COLUMN = "Aenderung";
+    private static final String DELETED_COLUMN = "Geloescht";
+    /**
+     * The table of previous versions which contained only the latest change of each member.
+     */
+    private static final String LEGACY_CHANGE_LOG = "MitgliederAenderungen";
+    private static final List<String> LEGACY_TRIGGER_SUFFIXES = List.of("_Einfuegen", "_Aendern", "_Loeschen");
+    private final DBConnection connection;
+
+    /**
+     * Creates a reader of the change log accessible over the given connection.
+     *
+     * @param connection The connection to the database containing the change log.
+     * @see #isSupported(DBConnection)
+     */
+    public MemberChangeLog(DBConnection connection) {
+        if (!isSupported(connection)) {
+            throw new IllegalArgumentException("The change log supports MySQL only");
+        }
+        this.connection = Objects.requireNonNull(connection);
+    }
+
+    /**
+     * Checks whether a change log can be maintained in the database of the given connection.
+     *
+     * @param connection The connection to check.
+     * @return {@code true} only if a change log can be maintained in the database of the given connection.
+     */
+    public static boolean isSupported(DBConnection connection) {
+        return connection.getDbms() == SupportedDBMS.MY_SQL;
+    }
+
+    private String qualify(String tableName) {
+        return "`" + connection.getDatabaseName() + "`.`" + tableName + "`";
+    }
+
+    /**
+     * Generates a trigger which appends the changes selected by {@code changes} to the log.
+     *
+     * @param changes A query selecting the membership numbers of the changed member as {@code nr} and whether they were
+     *                deleted as {@code del}.
+     */
+    private String generateTrigger(String triggerName, String event, String changes) {
+        return String.format("CREATE TRIGGER `%s` AFTER %s ON %s FOR EACH ROW "
+                        + "INSERT INTO %s (`%s`, `%s`) SELECT c.nr, c.del FROM (%s) AS c",
+                triggerName, event, qualify(Tables.MEMBER.getTableName()),
+                qualify(Tables.MEMBER_CHANGES.getTableName()), MEMBERSHIPNUMBER_COLUMN, DELETED_COLUMN, changes);
+    }
+
+    /**
+     * Creates {@link Tables#MEMBER_CHANGES} and the triggers maintaining it if they do not exist yet. The triggers and
+     * the table of previous versions are dropped. Changes which were superseded by a later change of the same member
+     * are removed from the log.
+     *
+     * @throws QueryFailedException Thrown if the change log or any of its triggers could not be created.
+     */
+    public void install() throws QueryFailedException {
+        String changeLog = qualify(Tables.MEMBER_CHANGES.getTableName());
+        // NOTE The scheme can not declare the sequence number to be AUTO_INCREMENT
+        connection.execUpdate(String.format("CREATE TABLE IF NOT EXISTS %s ("
+                        + "`%s` BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, `%s` INT NOT NULL, `%s` BOOLEAN NOT NULL)",
+                changeLog, SEQUENCE_COLUMN, MEMBERSHIPNUMBER_COLUMN, DELETED_COLUMN));
+
+        String memberTableName = Tables.MEMBER.getTableName();
+        Set<String> existingTriggers = DbQueryTracer.execQuery(connection, String.format(
+                        "SELECT TRIGGER_NAME FROM information_schema.TRIGGERS "
+                                + "WHERE EVENT_OBJECT_SCHEMA = '%s' AND EVENT_OBJECT_TABLE = '%s'",
+                        connection.getDatabaseName(), memberTableName))
+                .stream()
+                .skip(1) // Skip column names
+                .map(row -> row.get(0))
+                .collect(Collectors.toSet());
+        // NOTE The legacy triggers write to the legacy table. Hence they have to be dropped before the table.
+        for (String legacySuffix : LEGACY_TRIGGER_SUFFIXES) {
+            String legacyTrigger = memberTableName + legacySuffix;
+            if (existingTriggers.contains(legacyTrigger)) {
+                LOGGER.log(Level.INFO, "Dropping trigger {0} of a previous version", legacyTrigger);
+                connection.execUpdate(String.format(
+                        "DROP TRIGGER IF EXISTS `%s`.`%s`", connection.getDatabaseName(), legacyTrigger));
+            }
+        }
+        connection.execUpdate("DROP TABLE IF EXISTS " + qualify(LEGACY_CHANGE_LOG));
+
+        String newNumber = "NEW.`" + MEMBERSHIPNUMBER_COLUMN + "`";
+        String oldNumber = "OLD.`" + MEMBERSHIPNUMBER_COLUMN + "`";
+        Map<String, String> triggers = Map.of(
+                memberTableName + "_ProtokollEinfuegen", generateTrigger(memberTableName + "_ProtokollEinfuegen",
+                        "INSERT", String.format("SELECT %s AS nr, FALSE AS del", newNumber)),
+                // NOTE Changing the membership number is logged as deleting the old one
+                memberTableName + "_ProtokollAendern", generateTrigger(memberTableName + "_ProtokollAendern",
+                        "UPDATE", String.format("SELECT %s AS nr, FALSE AS del "
+                                        + "UNION ALL SELECT %s, TRUE FROM DUAL WHERE %s <> %s",
+                                newNumber, oldNumber, oldNumber, newNumber)),
+                memberTableName + "_ProtokollLoeschen", generateTrigger(memberTableName + "_ProtokollLoeschen",
+                        "DELETE", String.format("SELECT %s AS nr, TRUE AS del", oldNumber))
+        );
+        for (Map.Entry<String, String> trigger : triggers.entrySet()) {
+            if (!existingTriggers.contains(trigger.getKey())) {
+                LOGGER.log(Level.INFO, "Creating trigger {0} for logging changes of member", trigger.getKey());
+                connection.execUpdate(trigger.getValue());
+            }
+        }
+
+        connection.execUpdate(String.format("DELETE superseded FROM %s AS superseded "
+                        + "INNER JOIN %s AS later ON superseded.`%s` = later.`%s` AND superseded.`%s` < later.`%s`",
+                changeLog, changeLog, MEMBERSHIPNUMBER_COLUMN, MEMBERSHIPNUMBER_COLUMN, SEQUENCE_COLUMN,
+                SEQUENCE_COLUMN));
+    }
+
+    /**
+     * Returns the sync token of all logged changes. It consists of the highest sequence number and the number of
+     * changes within the last {@link #SYNC_WINDOW} sequence numbers. Hence it changes as well if a change having a
+     * lower sequence number becomes visible late.
+     *
+     * @return The sync token of all logged changes.
+     * @throws QueryFailedException Thrown if the change log could not be queried.
+     */
+    public String readSyncToken() throws QueryFailedException {
+        String changeLog = qualify(Tables.MEMBER_CHANGES.getTableName());
+        List<List<String>> result = DbQueryTracer.execQuery(connection, String.format(
+                "SELECT COALESCE(MAX(`%s`), 0), COUNT(*) FROM %s "
+                        + "WHERE `%s` > (SELECT COALESCE(MAX(`%s`), 0) FROM %s) - %d",
+                SEQUENCE_COLUMN, changeLog, SEQUENCE_COLUMN, SEQUENCE_COLUMN, changeLog, SYNC_WINDOW));
+        return createSyncToken(Long.parseLong(result.get(1).get(0)), Long.parseLong(result.get(1).get(1)));
+    }
+
+    private static String createSyncToken(long sequence, long windowChanges) {
+        return sequence + SYNC_TOKEN_SEPARATOR + windowChanges;
+    }
+
+    /**
+     * Queries all member which were inserted, updated or deleted after the changes represented by {@code syncToken}.
+     * The last {@link #SYNC_WINDOW} changes before {@code syncToken} are included. Only the latest change of each
+     * member is applied.
+     *
+     * @param syncToken The sync token of the changes which are already known.
+     * @return The changes since {@code syncToken} and the new sync token.
+     * @throws QueryFailedException Thrown if the changes could not be queried.
+     * @see #readSyncToken()
+     */
+    public MemberDelta readDelta(String syncToken) throws QueryFailedException {
+        long sequence = Long.parseLong(syncToken.split(SYNC_TOKEN_SEPARATOR, 2)[0]);
+        List<List<String>> changes = DbQueryTracer.execQuery(connection, String.format(
+                "SELECT `%s`, `%s`, `%s` FROM %s WHERE `%s` > %d ORDER BY `%s`",
+                MEMBERSHIPNUMBER_COLUMN, SEQUENCE_COLUMN, DELETED_COLUMN,
+                qualify(Tables.MEMBER_CHANGES.getTableName()), SEQUENCE_COLUMN, sequence - SYNC_WINDOW,
+                SEQUENCE_COLUMN));
+        List<List<String>> changeRows = changes.subList(Math.min(1, changes.size()), changes.size());
+        long newSequence = sequence;
+        // NOTE The changes are ordered by their sequence number. Hence later changes of a member replace earlier ones.
+        Map<String, Boolean> latestChanges = new HashMap<>();
+        for (List<String> change : changeRows) {
+            newSequence = Math.max(newSequence, Long.parseLong(change.get(1)));
+            latestChanges.put(change.get(0), "1".equals(change.get(2)) || Boolean.parseBoolean(change.get(2)));
+        }
+        long windowStart = newSequence - SYNC_WINDOW;
+        long newWindowChanges = changeRows.stream()
+                .filter(change -> Long.parseLong(change.get(1)) > windowStart)
+                .count();
+
+        List<String> changedNumbers = new ArrayList<>();
+        Set<String> removedNumbers = new HashSet<>();
+        for (Map.Entry<String, Boolean> latestChange : latestChanges.entrySet()) {
+            if (latestChange.getValue()) {
+                removedNumbers.add(latestChange.getKey());
+            } else {
+                changedNumbers.add(latestChange.getKey());
+            }
+        }
+        return new MemberDelta(createSyncToken(newSequence, newWindowChanges), queryMember(changedNumbers),
+                removedNumbers);
+    }
+
+    private Set<Member> queryMember(List<String> membershipnumbers) throws QueryFailedException {
+        Set<Member> member = new HashSet<>();
+        if (!membershipnumbers.isEmpty()) {
+            Table<Set<Member>, Tables.MemberTableEntryBuilder> memberTable = connection.getTable(Tables.MEMBER)
+                    .orElseThrow();
+            for (int i = 0; i < membershipnumbers.size(); i += MAX_MEMBER_PER_QUERY) {
+                String numbers = String.join(", ",
+                        membershipnumbers.subList(i, Math.min(i + MAX_MEMBER_PER_QUERY, membershipnumbers.size())));
+                List<List<String>> result = DbQueryTracer.execQuery(connection, String.format(
+                        "SELECT * FROM %s WHERE `%s` IN (%s)",
+                        qualify(Tables.MEMBER.getTableName()), MEMBERSHIPNUMBER_COLUMN, numbers));
+                member.addAll(memberTable.parseFrom(result));
+            }
+        }
+        return member;
+    }
+
+    /**
+     * Represents the changes of member since a sync token.
+     *
+     * @param syncToken The sync token of all changes contained.
+     * @param changed   The member which were inserted or updated.
+     * @param removed   The membership numbers of the member which were deleted.
+     */
+    public record MemberDelta(String syncToken, Set<Member> changed, Set<String> removed) {
+
+        /**
+         * Checks whether this delta contains any change.
+         *
+         * @return {@code true} only if this delta contains no change.
+         */
+        public boolean isEmpty() {
+            return changed.isEmpty() && removed.isEmpty();
+        }
+
+        /**
+         * Applies the changes of this delta to the given snapshot. The given snapshot is not modified.
+         *
+         * @param snapshot The member before the changes.
+         * @return The member after the changes.
+         */
+        public Set<Member> applyTo(Collection<Member> snapshot) {
+            Map<String, Member> member = new HashMap<>();
+            for (Member m : snapshot) {
+                member.put(m.membershipnumber(), m);
+            }
+            removed.forEach(member::remove);
+            for (Member m : changed) {
+                member.put(m.membershipnumber(), m);
+            }
+            return new HashSet<>(member.values());
+        }
+    }
+}
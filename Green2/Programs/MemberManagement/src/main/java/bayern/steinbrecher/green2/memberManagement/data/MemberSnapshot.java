@@ -0,0 +1,20 @@
+package bayern.steinbrecher.green2.memberManagement.data;
+
+import bayern.steinbrecher.green2.sharedBasis.people.Member;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents the content of {@link bayern.steinbrecher.green2.sharedBasis.data.Tables#MEMBER} and
+ * {@link bayern.steinbrecher.green2.sharedBasis.data.Tables#NICKNAMES} at a certain point in time.
+ *
+ * @param member    All member.
+ * @param nicknames The mapping from names to nicknames.
+ * @param created   The time the data was known to be up to date.
+ * @author Stefan Huber
+ * @since 2u14
+ */
+public record MemberSnapshot(Set<Member> member, Map<String, String> nicknames, LocalDateTime created) {
+}
@@ -0,0 +1,156 @@
+package bayern.steinbrecher.green2.memberManagement.data;
+
+import bayern.steinbrecher.dbConnector.DBConnection;
+import bayern.steinbrecher.dbConnector.query.QueryFailedException;
+import bayern.steinbrecher.dbConnector.query.SupportedDBMS;
+import bayern.steinbrecher.green2.memberManagement.generator.AddressGenerator;
+import bayern.steinbrecher.green2.sharedBasis.data.BirthdayRule;
+import bayern.steinbrecher.green2.sharedBasis.data.Tables;
+import bayern.steinbrecher.green2.sharedBasis.diagnostics.DbQueryTracer;
+import bayern.steinbrecher.green2.sharedBasis.utility.IOStreamUtility;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Queries the rows of serial letters directly from the database instead of generating them from all member and all
+ * nicknames. The nicknames are joined and the salutations are concatenated by the database. Hence neither
+ * {@link Tables#MEMBER} nor {@link Tables#NICKNAMES} have to be loaded. The rows have the same layout as the ones
+ * generated by {@link AddressGenerator}.
+ *
+ * @author Stefan Huber
+ * @since 2u14
+ */
+public final class SerialLetterQuery {
+
+    /**
+     * The columns of a serial letter in the order of {@link AddressGenerator#COLUMN_LABELS}. The salutation uses the
+     * nickname of a member if there is any.
+     */
+    private static final String SERIAL_LETTER_COLUMNS = "m.`Vorname`, m.`Nachname`, m.`Strasse`, m.`Hausnummer`, "
+            + "m.`PLZ`, m.`Ort`, m.`Geburtstag`, "
+            + "CONCAT_WS(' ', IF(m.`IstMaennlich`, 'Lieber', 'Liebe'), IFNULL(s.`Spitzname`, m.`Vorname`))";
+    private final DBConnection connection;
+
+    /**
+     * Creates a query for serial letters using the given connection.
+     *
+     * @param connection The connection to query the serial letters with.
+     * @see #isSupported(DBConnection)
+     */
+    public SerialLetterQuery(DBConnection connection) {
+        if (!isSupported(connection)) {
+            throw new IllegalArgumentException("Serial letters can be queried from MySQL only");
+        }
+        this.connection = Objects.requireNonNull(connection);
+    }
+
+    /**
+     * Checks whether serial letters can be queried over the given connection.
+     *
+     * @param connection The connection to check.
+     * @return {@code true} only if serial letters can be queried over the given connection.
+     */
+    public static boolean isSupported(DBConnection connection) {
+        return connection.getDbms() == SupportedDBMS.MY_SQL;
+    }
+
+    private String qualify(String tableName) {
+        return "`" + connection.getDatabaseName() + "`.`" + tableName + "`";
+    }
+
+    private SerialLetter query(String condition) throws QueryFailedException {
+        String searchQuery = String.format("SELECT %s FROM %s AS m LEFT OUTER JOIN %s AS s ON m.`Vorname` = s.`Name` "
+                        + "WHERE m.`AusgetretenSeit` IS NULL AND (%s) ORDER BY m.`Nachname`, m.`Vorname`",
+                SERIAL_LETTER_COLUMNS, qualify(Tables.MEMBER.getTableName()),
+                qualify(Tables.NICKNAMES.getTableName()), condition);
+        List<List<String>> result = DbQueryTracer.execQuery(connection, searchQuery);
+        // NOTE The first row contains the column names
+        return new SerialLetter(result.subList(Math.min(1, result.size()), result.size()));
+    }
+
+    /**
+     * Queries the serial letter rows of all member which did not leave yet.
+     *
+     * @return The serial letter rows sorted by the names of the member.
+     * @throws QueryFailedException Thrown if the serial letter rows could not be queried.
+     */
+    public SerialLetter queryAll() throws QueryFailedException {
+        return query("TRUE");
+    }
+
+    /**
+     * Queries the serial letter rows of all member which did not leave yet and get a birthday notification in the
+     * given year.
+     *
+     * @param rule The rule specifying which ages get notified.
+     * @param year The year to check the ages at.
+     * @return The serial letter rows sorted by the names of the member.
+     * @throws QueryFailedException Thrown if the serial letter rows could not be queried.
+     * @see BirthdayQuery#queryNotified(BirthdayRule, int)
+     */
+    public SerialLetter queryBirthday(BirthdayRule rule, int year) throws QueryFailedException {
+        List<String> birthdayRanges = new ArrayList<>();
+        for (BirthdayRule.AgeRange ageRange : rule.getNotifiedAgeRanges()) {
+            // NOTE Persons of age a in year y are born in year y - a
+            List<String> conditions = new ArrayList<>();
+            conditions.add("m.`Geburtstag` IS NOT NULL");
+            if (ageRange.isBounded()) {
+                conditions.add(String.format(
+                        "m.`Geburtstag` > '%s'", LocalDate.of(year - ageRange.maxAge() - 1, 12, 31)));
+            }
+            if (ageRange.minAge() > 0) {
+                conditions.add(String.format(
+                        "m.`Geburtstag` < '%s'", LocalDate.of(year - ageRange.minAge() + 1, 1, 1)));
+            }
+            birthdayRanges.add("(" + String.join(" AND ", conditions) + ")");
+        }
+        SerialLetter serialLetter;
+        if (birthdayRanges.isEmpty()) {
+            serialLetter = new SerialLetter(List.of());
+        } else {
+            serialLetter = query(String.join(" OR ", birthdayRanges));
+        }
+        return serialLetter;
+    }
+
+    /**
+     * Represents the queried rows of a serial letter. It prints them in the format of
+     * {@link AddressGenerator#generateAddressData(java.util.Collection, java.util.Map)} row by row without creating
+     * the whole content first.
+     *
+     * @param rows The rows of the serial letter without column labels.
+     */
+    public record SerialLetter(List<List<String>> rows) implements IOStreamUtility.ContentPrinter {
+
+        /**
+         * Checks whether this serial letter contains any row.
+         *
+         * @return {@code true} only if this serial letter contains no row.
+         */
+        public boolean isEmpty() {
+            return rows.isEmpty();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void print(Writer writer) throws IOException {
+            writer.append(AddressGenerator.COLUMN_LABELS);
+            for (List<String> row : rows) {
+                writer.append('\n');
+                for (int i = 0; i < row.size(); i++) {
+                    if (i > 0) {
+                        writer.append(';');
+                    }
+                    writer.append(String.valueOf(row.get(i)));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package bayern.steinbrecher.green2.memberManagement.data;
+
+import bayern.steinbrecher.green2.sharedBasis.people.Member;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Represents the differences between two snapshots of member. Member are identified by their membership number. The
+ * differences are calculated by a merge of both snapshots sorted by membership number.
+ *
+ * @author Stefan Huber
+ * @since 2u14
+ */
+public final class SnapshotDiff {
+
+    private static final Comparator<Member> MEMBERSHIPNUMBER_ORDER = Comparator.comparing(Member::membershipnumber);
+    private final List<Member> added;
+    private final List<Member> removed;
+    private final List<Change> changed;
+
+    private SnapshotDiff(List<Member> added, List<Member> removed, List<Change> changed) {
+        this.added = Collections.unmodifiableList(added);
+        this.removed = Collections.unmodifiableList(removed);
+        this.changed = Collections.unmodifiableList(changed);
+    }
+
+    /**
+     * Calculates the differences between the given snapshots.
+     *
+     * @param previous The previous snapshot of member.
+     * @param current  The current snapshot of member.
+     * @return The differences between {@code previous} and {@code current}.
+     */
+    public static SnapshotDiff compute(Collection<Member> previous, Collection<Member> current) {
+        List<Member> sortedPrevious = new ArrayList<>(previous);
+        sortedPrevious.sort(MEMBERSHIPNUMBER_ORDER);
+        List<Member> sortedCurrent = new ArrayList<>(current);
+        sortedCurrent.sort(MEMBERSHIPNUMBER_ORDER);
+
+        List<Member> added = new ArrayList<>();
+        List<Member> removed = new ArrayList<>();
+        List<Change> changed = new ArrayList<>();
+        int previousIndex = 0;
+        int currentIndex = 0;
+        while (previousIndex < sortedPrevious.size() && currentIndex < sortedCurrent.size()) {
+            Member previousMember = sortedPrevious.get(previousIndex);
+            Member currentMember = sortedCurrent.get(currentIndex);
+            int comparison = MEMBERSHIPNUMBER_ORDER.compare(previousMember, currentMember);
+            if (comparison < 0) {
+                removed.add(previousMember);
+                previousIndex++;
+            } else if (comparison > 0) {
+                added.add(currentMember);
+                currentIndex++;
+            } else {
+                if (!hasSameData(previousMember, currentMember)) {
+                    changed.add(new Change(previousMember, currentMember));
+                }
+                previousIndex++;
+                currentIndex++;
+            }
+        }
+        removed.addAll(sortedPrevious.subList(previousIndex, sortedPrevious.size()));
+        added.addAll(sortedCurrent.subList(currentIndex, sortedCurrent.size()));
+        return new SnapshotDiff(added, removed, changed);
+    }
+
+    /**
+     * Checks whether all data of the given member is equal. In contrast to {@link Member#equals(Object)} not only the
+     * membership numbers are compared.
+     */
+    private static boolean hasSameData(Member previous, Member current) {
+        return previous == current
+                || Objects.equals(previous.person(), current.person())
+                && Objects.equals(previous.home(), current.home())
+                && Objects.equals(previous.mandate(), current.mandate())
+                && Objects.equals(previous.active(), current.active())
+                && previous.contributionfree() == current.contributionfree()
+                && Objects.equals(previous.contribution(), current.contribution())
+                && Objects.equals(previous.memberSince(), current.memberSince())
+                && Objects.equals(previous.leavingDate(), current.leavingDate())
+                && Objects.equals(previous.honorings(), current.honorings());
+    }
+
+    /**
+     * Returns the member which are contained in the current but not in the previous snapshot.
+     *
+     * @return The added member sorted by membership number.
+     */
+    public List<Member> getAdded() {
+        return added;
+    }
+
+    /**
+     * Returns the member which are contained in the previous but not in the current snapshot.
+     *
+     * @return The removed member sorted by membership number.
+     */
+    public List<Member> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * Returns the member which are contained in both snapshots but whose data changed.
+     *
+     * @return The changed member sorted by membership number.
+     */
+    public List<Change> getChanged() {
+        return changed;
+    }
+
+    /**
+     * Checks whether the snapshots are equal.
+     *
+     * @return {@code true} only if no member was added, removed or changed.
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return String.format("%d added, %d removed, %d changed", added.size(), removed.size(), changed.size());
+    }
+
+    /**
+     * Represents a member whose data changed.
+     *
+     * @param previous The member as contained in the previous snapshot.
+     * @param current  The member as contained in the current snapshot.
+     */
+    public record Change(Member previous, Member current) {
+    }
+}
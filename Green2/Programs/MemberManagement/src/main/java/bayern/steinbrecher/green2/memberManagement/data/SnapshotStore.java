@@ -0,0 +1,284 @@
+package bayern.steinbrecher.green2.memberManagement.data;
+
+import bayern.steinbrecher.green2.sharedBasis.data.Tables;
+import bayern.steinbrecher.green2.sharedBasis.people.AddressBuilder;
+import bayern.steinbrecher.green2.sharedBasis.people.Member;
+import bayern.steinbrecher.green2.sharedBasis.people.MemberBuilder;
+import bayern.steinbrecher.green2.sharedBasis.people.PersonBuilder;
+import bayern.steinbrecher.sepaxmlgenerator.AccountHolderBuilder;
+import bayern.steinbrecher.sepaxmlgenerator.BIC;
+import bayern.steinbrecher.sepaxmlgenerator.DirectDebitMandateBuilder;
+import bayern.steinbrecher.sepaxmlgenerator.IBAN;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Stores a {@link MemberSnapshot} encrypted in a local file. The key is derived from a secret like the password of the
+ * database user using PBKDF2. The snapshot is encrypted using AES-GCM. Hence a snapshot can only be read with the same
+ * secret and any modification of the file is detected.
+ * <p>
+ * The file starts with {@link #MAGIC}, the version of the format and the salt of the key. Since version 2 the snapshot
+ * is stored column by column as described in {@link MappedSnapshot}. Hence only the columns which are needed have to
+ * be decrypted. In version 1 the IV follows the salt and the remaining bytes are the
+ * encrypted and compressed snapshot where each member is written as one row of all its values. Snapshots of version 1
+ * can still be loaded but are not written anymore.
+ *
+ * @author Stefan Huber
+ * @since 2u14
+ */
+public final class SnapshotStore {
+
+    private static final byte[] MAGIC = {'G', '2', 'S', 'N'};
+    private static final int FORMAT_VERSION = 2;
+    private static final int ROW_FORMAT_VERSION = 1;
+    private static final int SALT_LENGTH = 16;
+    private static final int PREFIX_LENGTH = MAGIC.length + Integer.BYTES + SALT_LENGTH;
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH = 128; // [bit]
+    private static final int KEY_LENGTH = 256; // [bit]
+    private static final int KEY_ITERATIONS = 120_000;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private final Path file;
+    private final char[] secret;
+
+    /**
+     * Creates a store for a snapshot in the given file.
+     *
+     * @param file   The file to store the snapshot in. It does not need to exist.
+     * @param secret The secret protecting the snapshot. It is copied.
+     */
+    public SnapshotStore(Path file, char[] secret) {
+        this.file = Objects.requireNonNull(file);
+        this.secret = Arrays.copyOf(secret, secret.length);
+    }
+
+    /**
+     * Checks whether a snapshot was stored.
+     *
+     * @return {@code true} only if the file of the snapshot exists.
+     */
+    public boolean exists() {
+        return Files.isRegularFile(file);
+    }
+
+    private SecretKey deriveKey(byte[] salt) throws GeneralSecurityException {
+        PBEKeySpec keySpec = new PBEKeySpec(secret, salt, KEY_ITERATIONS, KEY_LENGTH);
+        try {
+            byte[] key = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256")
+                    .generateSecret(keySpec)
+                    .getEncoded();
+            return new SecretKeySpec(key, "AES");
+        } finally {
+            keySpec.clearPassword();
+        }
+    }
+
+    /**
+     * Stores the given snapshot. It replaces any previously stored snapshot. The file is replaced atomically if the
+     * file system supports it.
+     *
+     * @param snapshot The snapshot to store.
+     * @throws IOException              Thrown if the snapshot could not be written.
+     * @throws GeneralSecurityException Thrown if the snapshot could not be encrypted.
+     */
+    public synchronized void save(MemberSnapshot snapshot) throws IOException, GeneralSecurityException {
+        byte[] salt = new byte[SALT_LENGTH];
+        RANDOM.nextBytes(salt);
+        ByteArrayOutputStream prefix = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(prefix)) {
+            output.write(MAGIC);
+            output.writeInt(FORMAT_VERSION);
+            output.write(salt);
+        }
+        byte[] content = MappedSnapshot.encode(snapshot, prefix.toByteArray(), deriveKey(salt));
+
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temporaryFile, content);
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads the version of the format of the stored snapshot.
+     */
+    private int readFormatVersion() throws IOException {
+        try (DataInputStream input = new DataInputStream(Files.newInputStream(file))) {
+            if (!Arrays.equals(MAGIC, input.readNBytes(MAGIC.length))) {
+                throw new IOException("The file " + file + " contains no snapshot");
+            }
+            return input.readInt();
+        } catch (EOFException ex) {
+            throw new IOException("The file " + file + " contains no snapshot", ex);
+        }
+    }
+
+    /**
+     * Reads the stored snapshot without decrypting any of its columns. The file is read completely instead of being
+     * mapped into memory. Otherwise the file could not be replaced by {@link #save(MemberSnapshot)} on some operating
+     * systems like Windows as long as the mapping is not released by the garbage collector.
+     *
+     * @return The read snapshot. Returns {@link Optional#empty()} if no snapshot was stored.
+     * @throws IOException              Thrown if the snapshot could not be read or has a format which can not be
+     *                                  read column by column.
+     * @throws GeneralSecurityException Thrown if the key of the snapshot could not be derived.
+     * @see #load()
+     */
+    public synchronized Optional<MappedSnapshot> open() throws IOException, GeneralSecurityException {
+        Optional<MappedSnapshot> snapshot;
+        if (exists()) {
+            int version = readFormatVersion();
+            if (version != FORMAT_VERSION) {
+                throw new IOException(
+                        "The snapshot has the format version " + version + " which can not be read column by column");
+            }
+            ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (content.limit() < PREFIX_LENGTH) {
+                throw new IOException("The file " + file + " contains no snapshot");
+            }
+            byte[] salt = new byte[SALT_LENGTH];
+            content.get(MAGIC.length + Integer.BYTES, salt);
+            snapshot = Optional.of(new MappedSnapshot(content, PREFIX_LENGTH, deriveKey(salt)));
+        } else {
+            snapshot = Optional.empty();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Reads the stored snapshot. In contrast to {@link #open()} all columns are decoded and snapshots of version 1 of
+     * the format are supported.
+     *
+     * @return The stored snapshot. Returns {@link Optional#empty()} if no snapshot was stored.
+     * @throws IOException              Thrown if the snapshot could not be read or has an unknown format.
+     * @throws GeneralSecurityException Thrown if the snapshot could not be decrypted, e.g. since it was stored using
+     *                                  another secret or it was modified.
+     */
+    public synchronized Optional<MemberSnapshot> load() throws IOException, GeneralSecurityException {
+        Optional<MemberSnapshot> snapshot;
+        if (exists() && readFormatVersion() == ROW_FORMAT_VERSION) {
+            snapshot = Optional.of(loadRows());
+        } else {
+            Optional<MappedSnapshot> columnar = open();
+            snapshot = columnar.isPresent() ? Optional.of(columnar.get().toMemberSnapshot()) : Optional.empty();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Reads a snapshot stored in version 1 of the format.
+     */
+    private MemberSnapshot loadRows() throws IOException, GeneralSecurityException {
+        byte[] content = Files.readAllBytes(file);
+        int headerLength = PREFIX_LENGTH + IV_LENGTH;
+        if (content.length < headerLength) {
+            throw new IOException("The file " + file + " contains no snapshot");
+        }
+        byte[] salt = Arrays.copyOfRange(content, MAGIC.length + Integer.BYTES, PREFIX_LENGTH);
+        byte[] iv = Arrays.copyOfRange(content, PREFIX_LENGTH, headerLength);
+
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, deriveKey(salt), new GCMParameterSpec(TAG_LENGTH, iv));
+        cipher.updateAAD(content, 0, headerLength);
+        byte[] plain = cipher.doFinal(content, headerLength, content.length - headerLength);
+        try (DataInputStream input = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(plain)))) {
+            return readSnapshot(input);
+        }
+    }
+
+    private static MemberSnapshot readSnapshot(DataInputStream input) throws IOException {
+        LocalDateTime created = LocalDateTime.ofEpochSecond(input.readLong(), 0, ZoneOffset.UTC);
+        int memberCount = input.readInt();
+        Set<Member> member = new HashSet<>();
+        for (int i = 0; i < memberCount; i++) {
+            member.add(readMember(input));
+        }
+        int nicknamesCount = input.readInt();
+        Map<String, String> nicknames = new HashMap<>();
+        for (int i = 0; i < nicknamesCount; i++) {
+            nicknames.put(readString(input), readString(input));
+        }
+        return new MemberSnapshot(member, nicknames, created);
+    }
+
+    private static Member readMember(DataInputStream input) throws IOException {
+        String membershipnumber = readString(input);
+        Tables.MemberTableEntryBuilder entry = new Tables.MemberTableEntryBuilder()
+                .changeMandate(DirectDebitMandateBuilder::id, membershipnumber)
+                .changePerson(PersonBuilder::firstname, readString(input))
+                .changePerson(PersonBuilder::lastname, readString(input))
+                .changePerson(PersonBuilder::title, readString(input))
+                .changePerson(PersonBuilder::male, input.readBoolean())
+                .changePerson(PersonBuilder::birthday, readDate(input))
+                .changeMember(MemberBuilder::memberSince, readDate(input))
+                .changeHome(AddressBuilder::street, readString(input))
+                .changeHome(AddressBuilder::houseNumber, readString(input))
+                .changeHome(AddressBuilder::postcode, readString(input))
+                .changeHome(AddressBuilder::place, readString(input))
+                .changeMember(MemberBuilder::contributionfree, input.readBoolean());
+        String iban = readString(input);
+        if (iban != null) {
+            entry.changeOwner(AccountHolderBuilder::iban, new IBAN(iban));
+        }
+        String bic = readString(input);
+        if (bic != null) {
+            entry.changeOwner(AccountHolderBuilder::bic, new BIC(bic));
+        }
+        entry.changeOwner(AccountHolderBuilder::firstname, readString(input))
+                .changeOwner(AccountHolderBuilder::lastname, readString(input))
+                .changeMandate(DirectDebitMandateBuilder::signed, readDate(input));
+        Optional<Double> contribution = input.readBoolean() ? Optional.of(input.readDouble()) : Optional.empty();
+        entry.changeMember(MemberBuilder::contribution, contribution)
+                .changeMember(MemberBuilder::active, Optional.ofNullable(readBoolean(input)))
+                .changeMember(MemberBuilder::leavingDate, Optional.ofNullable(readDate(input)));
+        int honoringsCount = input.readInt();
+        for (int i = 0; i < honoringsCount; i++) {
+            int years = input.readInt();
+            Boolean wasHonored = readBoolean(input);
+            if (wasHonored != null) {
+                entry.addHonoring(years, wasHonored);
+            }
+        }
+        return entry.build();
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    private static LocalDate readDate(DataInputStream input) throws IOException {
+        long epochDay = input.readLong();
+        return epochDay == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    private static Boolean readBoolean(DataInputStream input) throws IOException {
+        byte value = input.readByte();
+        return value < 0 ? null : value == 1;
+    }
+}
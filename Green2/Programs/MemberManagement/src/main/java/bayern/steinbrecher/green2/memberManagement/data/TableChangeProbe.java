@@ -0,0 +1,86 @@
+package bayern.steinbrecher.green2.memberManagement.data;
+
+import bayern.steinbrecher.dbConnector.DBConnection;
+import bayern.steinbrecher.dbConnector.query.QueryFailedException;
+import bayern.steinbrecher.dbConnector.query.SupportedDBMS;
+import bayern.steinbrecher.dbConnector.scheme.TableScheme;
+import bayern.steinbrecher.green2.sharedBasis.diagnostics.DbQueryTracer;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+/**
+ * Probes whether the content of tables changed without querying their content. For MySQL a single
+ * {@code CHECKSUM TABLE ... QUICK} statement is executed for all tables. It only reads the live checksum of tables
+ * which maintain one and never scans a table. For tables without a live checksum like InnoDB tables and for other DBMSs
+ * only the number of rows is queried which does not detect updated rows. Tables whose changes are logged like
+ * {@link MemberChangeLog} should be probed by their log instead.
+ *
+ * @author Stefan Huber
+ * @since 2u14
+ */
+public final class TableChangeProbe implements Callable<Map<String, String>> {
+
+    private final DBConnection connection;
+    private final List<String> tableNames;
+
+    /**
+     * Creates a probe for the given tables.
+     *
+     * @param connection The connection to use for probing.
+     * @param schemes    The schemes of the tables to probe.
+     */
+    public TableChangeProbe(DBConnection connection, Collection<? extends TableScheme<?, ?>> schemes) {
+        this.connection = Objects.requireNonNull(connection);
+        this.tableNames = schemes.stream()
+                .map(TableScheme::getTableName)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    private String qualifyMySql(String tableName) {
+        return "`" + connection.getDatabaseName() + "`.`" + tableName + "`";
+    }
+
+    private String countRows(String tableName) throws QueryFailedException {
+        List<List<String>> result = DbQueryTracer.execQuery(connection,
+                "SELECT COUNT(*) FROM " + connection.getDatabaseName() + "." + tableName);
+        return result.get(1).get(0);
+    }
+
+    /**
+     * Returns a fingerprint for each probed table.
+     *
+     * @return The mapping of the names of the probed tables to a fingerprint of their content.
+     * @throws QueryFailedException Thrown if any table could not be probed.
+     */
+    @Override
+    public Map<String, String> call() throws QueryFailedException {
+        Map<String, String> fingerprints = new HashMap<>();
+        if (connection.getDbms() == SupportedDBMS.MY_SQL) {
+            String checksumQuery = tableNames.stream()
+                    .map(this::qualifyMySql)
+                    .collect(Collectors.joining(", ", "CHECKSUM TABLE ", " QUICK"));
+            List<List<String>> result = DbQueryTracer.execQuery(connection, checksumQuery);
+            // NOTE The first row contains the column names. The rows are returned in the order of the given tables.
+            for (int i = 0; i < tableNames.size() && i + 1 < result.size(); i++) {
+                String checksum = result.get(i + 1).get(1);
+                // NOTE QUICK yields NULL for tables without a live checksum
+                if (checksum == null || "NULL".equalsIgnoreCase(checksum)) {
+                    fingerprints.put(tableNames.get(i), countRows(tableNames.get(i)));
+                } else {
+                    fingerprints.put(tableNames.get(i), checksum);
+                }
+            }
+        } else {
+            for (String tableName : tableNames) {
+                fingerprints.put(tableName, countRows(tableName));
+            }
+        }
+        return fingerprints;
+    }
+}
@@ -52,13 +52,13 @@ public class WaitScreenController extends StandaloneWizardPageController<Optiona
     @FXML
     @SuppressWarnings("PMD.UnusedPrivateMethod")
     private void initialize() {
-        IntStream.range(0, VERTICAL_COUNT).parallel().forEach(row -> {
+        IntStream.range(0, VERTICAL_COUNT).forEach(row -> {
             int shorten = (row + 1) % 2;
             //CHECKSTYLE.OFF: MagicNumber - The factor 1.5 is needed for correct the alignment of the displayed objects.
             double yCoo = row * DIAMETER + RADIUS
                     - 1.5 * row * RADIUS / CORNER_COUNT;
             //CHECKSTYLE.ON: MagicNumber
-            IntStream.range(0, HORIZONTAL_COUNT - shorten).parallel().forEach(column -> {
+            IntStream.range(0, HORIZONTAL_COUNT - shorten).forEach(column -> {
                 double xCoo = column * DIAMETER + (shorten + 1) * RADIUS;
                 Polygon polygon = createPolygon(new Point2D(xCoo, yCoo));
                 polygon.setOpacity(START_OPACITY);
@@ -2,9 +2,12 @@ package bayern.steinbrecher.green2.memberManagement.generator;
 
 import bayern.steinbrecher.green2.sharedBasis.people.Address;
 import bayern.steinbrecher.green2.sharedBasis.people.Member;
+import bayern.steinbrecher.green2.sharedBasis.people.MemberSortKey;
 import bayern.steinbrecher.green2.sharedBasis.people.Person;
+import bayern.steinbrecher.green2.sharedBasis.utility.MetricsRegistry;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.StringJoiner;
 import java.util.stream.Collectors;
@@ -17,6 +20,16 @@ import java.util.stream.Collectors;
  */
 public final class AddressGenerator {
 
+    /**
+     * The (german) column labels of the generated output.
+     *
+     * @since 2u14
+     */
+    public static final String COLUMN_LABELS = "Vorname;Nachname;Strasse;Hausnummer;PLZ;Ort;Geburtstag;Anrede";
+    private static final MetricsRegistry.Timer ADDRESS_DATA_TIMER = MetricsRegistry.timer("generator.addresses");
+    private static final MetricsRegistry.Counter ADDRESSED_MEMBER
+            = MetricsRegistry.counter("generator.addresses.member");
+
     /**
      * Prohibit construction of an object.
      */
@@ -36,32 +49,41 @@ public final class AddressGenerator {
         if (member.isEmpty()) {
             throw new IllegalArgumentException("Can't create output when member is empty.");
         }
+        long start = System.nanoTime();
         Map<Member, String> memberSalutationMapping = createSalutations(member, nicknames);
-        return createOutput(memberSalutationMapping);
+        String output = createOutput(memberSalutationMapping);
+        ADDRESS_DATA_TIMER.recordSince(start);
+        ADDRESSED_MEMBER.add(member.size());
+        return output;
     }
 
     /**
-     * Creates a list with salutations for the given member in the same order as the member.
+     * Creates a list with salutations for the given member sorted by the names of the member.
      *
      * @param member The member to create an salutations for.
      * @param nicknames The map containing the nicknames used for the salutations.
      * @return A list with appropriate salutations.
+     * @see MemberSortKey#NAME_ORDER
      */
     private static Map<Member, String> createSalutations(Collection<Member> member, Map<String, String> nicknames) {
-        return member.stream().collect(Collectors.toMap(m -> m,
-                m -> (m.person().male() ? "Lieber " : "Liebe ")
-                + nicknames.getOrDefault(m.person().firstname(), m.person().firstname())));
+        return MemberSortKey.sort(member, MemberSortKey.NAME_ORDER)
+                .stream()
+                .collect(Collectors.toMap(m -> m,
+                        m -> (m.person().male() ? "Lieber " : "Liebe ")
+                        + nicknames.getOrDefault(m.person().firstname(), m.person().firstname()),
+                        (salutationA, salutationB) -> salutationA, LinkedHashMap::new));
     }
 
     /**
-     * Creates output representing {@link Member}. The order is not guaranteed. But the first row will contain column
-     * labels (german).
+     * Creates output representing {@link Member}. The rows keep the order of the given mapping. The first row will
+     * contain column labels (german).
      *
      * @param memberSalutationsMapping The map from the given {@link Member} to their salutations.
      * @return A {@link String} representing the output.
      */
     private static String createOutput(Map<Member, String> memberSalutationsMapping) {
-        return new StringBuilder("Vorname;Nachname;Strasse;Hausnummer;PLZ;Ort;Geburtstag;Anrede\n")
+        return new StringBuilder(COLUMN_LABELS)
+                .append('\n')
                 .append(memberSalutationsMapping.entrySet().stream()
                         .map(entry -> {
                             Person person = entry.getKey().person();
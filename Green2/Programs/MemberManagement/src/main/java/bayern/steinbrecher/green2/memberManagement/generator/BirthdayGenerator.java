@@ -3,13 +3,20 @@ package bayern.steinbrecher.green2.memberManagement.generator;
 import bayern.steinbrecher.green2.sharedBasis.data.EnvironmentHandler;
 import bayern.steinbrecher.green2.sharedBasis.data.Profile;
 import bayern.steinbrecher.green2.sharedBasis.people.Member;
+import bayern.steinbrecher.green2.sharedBasis.people.MemberSortKey;
 import bayern.steinbrecher.green2.sharedBasis.people.Person;
+import bayern.steinbrecher.green2.sharedBasis.utility.MetricsRegistry;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
 
 /**
  * Generates files containing the relevant birthdays of a given year and writes them to a file.
@@ -18,15 +25,24 @@ import java.util.Optional;
  */
 public final class BirthdayGenerator {
 
+    private static final int MAX_DAYS_PER_MONTH = 31;
+    /**
+     * The number of buckets reserved for the birthdays within a year. (Some of them are never used like February 30)
+     */
+    private static final int DAYS_PER_YEAR_SLOTS = 12 * MAX_DAYS_PER_MONTH;
+    private static final MetricsRegistry.Timer GROUPED_OUTPUT_TIMER = MetricsRegistry.timer("generator.birthdays");
+    private static final MetricsRegistry.Counter GROUPED_MEMBER = MetricsRegistry.counter("generator.birthdays.member");
+
     /**
      * Sorts according to a members birthday (year descending, month ascending, day ascending) and then according to
-     * members name.
+     * members name. For sorting many member at once {@link MemberSortKey#sort(Collection, Comparator)} with
+     * {@link MemberSortKey#BIRTHDAY_ORDER} is faster since it collates each name only once.
      */
     public static final Comparator<Member> SORTING = Comparator.comparing(
             (Member m) -> m.person().birthday().getYear()).reversed()
             .thenComparing(m -> m.person().birthday().getMonth())
             .thenComparing(m -> m.person().birthday().getDayOfMonth())
-            .thenComparing(m -> m.person().name());
+            .thenComparing(Comparator.naturalOrder());
 
     /**
      * Prohibit construction of an object.
@@ -42,97 +58,144 @@ public final class BirthdayGenerator {
      * @param member The member to print.
      * @param year The year in which the age of the given member has to be calculated.
      * @return A string representing the hole content of a CSV file.
+     * @see #printGroupedOutput(Collection, int, Appendable)
      */
-    public static String createGroupedOutput(List<Member> member, int year) {
+    public static String createGroupedOutput(Collection<Member> member, int year) {
+        StringBuilder output = new StringBuilder();
+        try {
+            printGroupedOutput(member, year, output);
+        } catch (IOException ex) {
+            throw new AssertionError("A StringBuilder does not throw IOExceptions", ex);
+        }
+        return output.toString();
+    }
+
+    /**
+     * Writes content for a CSV-file containing a grouped list of the given member and their age they had or will have
+     * in year {@code year}. Member without birthday are skipped. The member are placed into buckets of their age,
+     * their state (active, passive, unknown) and their birthday within a year using counting placement. Hence the
+     * effort is linear in the number of member apart from sorting member having the very same birthday by name.
+     *
+     * @param member The member to print.
+     * @param year The year in which the age of the given member has to be calculated.
+     * @param output The target to write the CSV content to.
+     * @throws IOException Thrown only if {@code output} throws it.
+     * @since 2u14
+     */
+    public static void printGroupedOutput(Collection<Member> member, int year, Appendable output) throws IOException {
         if (member.isEmpty()) {
             throw new IllegalArgumentException("Can't create output when member is empty.");
         }
+        long start = System.nanoTime();
 
-        member.sort(SORTING);
-
-        boolean distinguishActivePassive = member.parallelStream().anyMatch(m -> m.active().isPresent());
-
-        StringBuilder output = new StringBuilder("Geburtstage ")
-                .append(year);
-        List<Member> currentActive = new ArrayList<>();
-        List<Member> currentPassive = new ArrayList<>();
-        List<Member> currentNeither = new ArrayList<>();
-        int currentAge = year - member.get(0).person().birthday().getYear();
+        // First pass: Determine the range of ages and whether any member specifies being active or passive
+        int minAge = Integer.MAX_VALUE;
+        int maxAge = Integer.MIN_VALUE;
+        boolean distinguishActivePassive = false;
         for (Member m : member) {
-            if (year - m.person().birthday().getYear() != currentAge) {
-                appendMember(
-                        output, currentAge, currentActive, currentPassive, currentNeither, distinguishActivePassive);
-                currentActive.clear();
-                currentPassive.clear();
-                currentAge = year - m.person().birthday().getYear();
-            }
-            Optional<Boolean> active = m.active();
-            if (active.isPresent()) {
-                if (active.get()) {
-                    currentActive.add(m);
-                } else {
-                    currentPassive.add(m);
-                }
-            } else {
-                currentNeither.add(m);
+            LocalDate birthday = m.person().birthday();
+            if (birthday != null) {
+                int age = year - birthday.getYear();
+                minAge = Math.min(minAge, age);
+                maxAge = Math.max(maxAge, age);
+                distinguishActivePassive |= m.active().isPresent();
             }
         }
 
-        appendMember(output, currentAge, currentActive, currentPassive, currentNeither, distinguishActivePassive);
-
-        return output.toString();
-    }
+        output.append("Geburtstage ")
+                .append(String.valueOf(year));
+        if (minAge <= maxAge) {
+            PlacedMember buckets = placeIntoBuckets(member, year, minAge, maxAge);
+            Member[] placed = buckets.member();
+            int[] bucketStarts = buckets.bucketStarts();
+            int bucketsPerAge = ActiveState.values().length * DAYS_PER_YEAR_SLOTS;
 
-    private static StringBuilder getMemberLines(List<Member> member) {
-        return member.stream()
-                .map(m -> {
-                    Person person = m.person();
-                    return person.firstname() + ';' + person.lastname() + ';' + person.birthday() + '\n';
-                })
-                .reduce(new StringBuilder(), StringBuilder::append, StringBuilder::append);
+            for (int ageIndex = 0; ageIndex <= maxAge - minAge; ageIndex++) {
+                int ageStart = bucketStarts[ageIndex * bucketsPerAge];
+                int ageEnd = bucketStarts[(ageIndex + 1) * bucketsPerAge];
+                if (ageStart < ageEnd) {
+                    output.append("\n\n")
+                            .append(String.valueOf(minAge + ageIndex))
+                            .append("ter Geburtstag\n");
+                    if (distinguishActivePassive) {
+                        for (ActiveState state : ActiveState.values()) {
+                            int stateStart = bucketStarts[ageIndex * bucketsPerAge
+                                    + state.ordinal() * DAYS_PER_YEAR_SLOTS];
+                            int stateEnd = bucketStarts[ageIndex * bucketsPerAge
+                                    + (state.ordinal() + 1) * DAYS_PER_YEAR_SLOTS];
+                            if (stateStart < stateEnd) {
+                                output.append(state.header)
+                                        .append(":\nVorname;Nachname;Geburtstag\n");
+                                printMemberLines(placed, stateStart, stateEnd, output);
+                            }
+                        }
+                    } else {
+                        output.append("Vorname;Nachname;Geburtstag\n");
+                        printMemberLines(placed, ageStart, ageEnd, output);
+                    }
+                }
+            }
+        }
+        GROUPED_OUTPUT_TIMER.recordSince(start);
+        GROUPED_MEMBER.add(member.size());
     }
 
     /**
-     * Appends all member of {@code currentAgeActive} and {@code currentAgePassiv} to {@code output} if the lists are
-     * not empty. The order of every list remains unchanged. The order of the lists printed is:
-     * <ul>
-     * <li>{@code currentAgeActive}</li>
-     * <li>{@code currentAgePassive}</li>
-     * <li>{@code currentAgeNeither}</li>
-     * </ul>
-     *
-     * @param output The {@link StringBuilder} to append the output to.
-     * @param currentAge The age of the member in the given lists.
-     * @param currentAgeActive The list of active member which are {@code currentAge} years old.
-     * @param currentAgePassive The list of passive member which are {@code currentAge} years old.
-     * @param currentAgeNeither The list of member whose status (active/passive) is unknown.
-     * @param distinguishActivePassive {@code true} if the given lists should not be merged.
+     * Places all member having a birthday into an array ordered by age (ascending), state (active, passive, unknown),
+     * month and day of their birthday (ascending) and their name.
      */
-    private static void appendMember(StringBuilder output, int currentAge, List<Member> currentAgeActive,
-            List<Member> currentAgePassive, List<Member> currentAgeNeither, boolean distinguishActivePassive) {
-        if (!currentAgeActive.isEmpty() || !currentAgePassive.isEmpty() || !currentAgeNeither.isEmpty()) {
-            output.append("\n\n").append(currentAge).append("ter Geburtstag\n");
-
-            if (distinguishActivePassive) {
-                if (!currentAgeActive.isEmpty()) {
-                    output.append("Aktiv:\nVorname;Nachname;Geburtstag\n")
-                            .append(getMemberLines(currentAgeActive));
-                }
-                if (!currentAgePassive.isEmpty()) {
-                    output.append("Passiv:\nVorname;Nachname;Geburtstag\n")
-                            .append(getMemberLines(currentAgePassive));
-                }
-                if (!currentAgeNeither.isEmpty()) {
-                    output.append("Unbekannt:\nVorname;Nachname;Geburtstag\n")
-                            .append(getMemberLines(currentAgeNeither));
+    private static PlacedMember placeIntoBuckets(Collection<Member> member, int year, int minAge, int maxAge) {
+        int bucketsPerAge = ActiveState.values().length * DAYS_PER_YEAR_SLOTS;
+        int[] bucketStarts = new int[(maxAge - minAge + 1) * bucketsPerAge + 1];
+        for (Member m : member) {
+            if (m.person().birthday() != null) {
+                bucketStarts[bucketIndex(m, year, minAge) + 1]++;
+            }
+        }
+        for (int i = 1; i < bucketStarts.length; i++) {
+            bucketStarts[i] += bucketStarts[i - 1];
+        }
+
+        int[] nextFreeSlot = Arrays.copyOf(bucketStarts, bucketStarts.length - 1);
+        Member[] placed = new Member[bucketStarts[bucketStarts.length - 1]];
+        for (Member m : member) {
+            if (m.person().birthday() != null) {
+                placed[nextFreeSlot[bucketIndex(m, year, minAge)]++] = m;
+            }
+        }
+
+        // Only member having the very same birthday and state share a bucket
+        for (int bucket = 0; bucket < bucketStarts.length - 1; bucket++) {
+            int bucketStart = bucketStarts[bucket];
+            if (bucketStarts[bucket + 1] - bucketStart > 1) {
+                List<Member> sortedBucket = MemberSortKey.sort(
+                        Arrays.asList(placed).subList(bucketStart, bucketStarts[bucket + 1]), MemberSortKey.NAME_ORDER);
+                for (int i = 0; i < sortedBucket.size(); i++) {
+                    placed[bucketStart + i] = sortedBucket.get(i);
                 }
-            } else {
-                output.append("Vorname;Nachname;Geburtstag\n")
-                        .append(getMemberLines(currentAgeActive))
-                        .append(getMemberLines(currentAgePassive))
-                        .append(getMemberLines(currentAgeNeither));
             }
         }
+        return new PlacedMember(placed, bucketStarts);
+    }
+
+    private static int bucketIndex(Member member, int year, int minAge) {
+        LocalDate birthday = member.person().birthday();
+        int ageIndex = year - birthday.getYear() - minAge;
+        int dayIndex = (birthday.getMonthValue() - 1) * MAX_DAYS_PER_MONTH + birthday.getDayOfMonth() - 1;
+        return (ageIndex * ActiveState.values().length + ActiveState.of(member).ordinal()) * DAYS_PER_YEAR_SLOTS
+                + dayIndex;
+    }
+
+    private static void printMemberLines(Member[] member, int from, int to, Appendable output) throws IOException {
+        for (int i = from; i < to; i++) {
+            Person person = member[i].person();
+            output.append(person.firstname())
+                    .append(';')
+                    .append(person.lastname())
+                    .append(';')
+                    .append(String.valueOf(person.birthday()))
+                    .append('\n');
+        }
     }
 
     /**
@@ -150,4 +213,79 @@ public final class BirthdayGenerator {
                         .getAgeFunction()
                         .apply(year - birthday.getYear());
     }
+
+    /**
+     * Determines for each year of the given range which of the given member get birthday notifications. All member are
+     * processed in a single pass evaluating the compiled birthday rule of the current profile once per member and
+     * year.
+     *
+     * @param member    The member to check.
+     * @param firstYear The first year of the range (inclusive).
+     * @param lastYear  The last year of the range (inclusive).
+     * @return The member getting notified grouped by the years of the range in ascending order. Years without any
+     * member getting notified are mapped to an empty list.
+     * @see #getsNotified(Member, int)
+     * @since 2u14
+     */
+    public static SortedMap<Integer, List<Member>> groupNotifiedByYear(
+            Collection<Member> member, int firstYear, int lastYear) {
+        if (firstYear > lastYear) {
+            throw new IllegalArgumentException("The first year must not be after the last year.");
+        }
+        IntFunction<Boolean> ageFunction = EnvironmentHandler.getProfile()
+                .getAgeFunction();
+        List<List<Member>> notifiedPerYear = new ArrayList<>(lastYear - firstYear + 1);
+        for (int year = firstYear; year <= lastYear; year++) {
+            notifiedPerYear.add(new ArrayList<>());
+        }
+        for (Member m : member) {
+            LocalDate birthday = m.person().birthday();
+            if (birthday != null) {
+                int ageInFirstYear = firstYear - birthday.getYear();
+                for (int yearIndex = 0; yearIndex < notifiedPerYear.size(); yearIndex++) {
+                    if (ageFunction.apply(ageInFirstYear + yearIndex)) {
+                        notifiedPerYear.get(yearIndex).add(m);
+                    }
+                }
+            }
+        }
+
+        SortedMap<Integer, List<Member>> notifiedByYear = new TreeMap<>();
+        for (int yearIndex = 0; yearIndex < notifiedPerYear.size(); yearIndex++) {
+            notifiedByYear.put(firstYear + yearIndex, notifiedPerYear.get(yearIndex));
+        }
+        return notifiedByYear;
+    }
+
+    /**
+     * Represents member placed into consecutive buckets.
+     *
+     * @param member       The member ordered by their buckets.
+     * @param bucketStarts The index of the first member of each bucket. The last entry contains the number of all
+     *                     member.
+     */
+    private record PlacedMember(Member[] member, int[] bucketStarts) {
+    }
+
+    /**
+     * Represents whether a member is active, passive or whether this is unknown. The order of the values represents
+     * the order in which the groups are printed.
+     */
+    private enum ActiveState {
+        ACTIVE("Aktiv"),
+        PASSIVE("Passiv"),
+        UNKNOWN("Unbekannt");
+
+        private final String header;
+
+        ActiveState(String header) {
+            this.header = header;
+        }
+
+        static ActiveState of(Member member) {
+            return member.active()
+                    .map(active -> active ? ACTIVE : PASSIVE)
+                    .orElse(UNKNOWN);
+        }
+    }
 }
@@ -18,4 +18,15 @@ public abstract class Login<C extends DBCredentials> extends StandaloneWizardPag
     public Login(@NotNull String fxmlPath, @Nullable ResourceBundle bundle) {
         super(fxmlPath, bundle);
     }
+
+    /**
+     * Returns the secret protecting local copies of data.
+     *
+     * @return The secret protecting local copies of data.
+     * @see LoginController#getLocalDataSecret()
+     * @since 2u14
+     */
+    public char[] getLocalDataSecret() {
+        return getController().getLocalDataSecret();
+    }
 }
@@ -28,4 +28,13 @@ public abstract class LoginController<C extends DBCredentials> extends Standalon
 
         bindValidProperty(BindingUtility.reduceAnd(textInputFields.stream().map(CheckedTextField::validProperty)));
     }
+
+    /**
+     * Returns the secret protecting local copies of data. It is the password of the database user since it is known
+     * only to users allowed to access the data.
+     *
+     * @return The secret protecting local copies of data.
+     * @since 2u14
+     */
+    public abstract char[] getLocalDataSecret();
 }
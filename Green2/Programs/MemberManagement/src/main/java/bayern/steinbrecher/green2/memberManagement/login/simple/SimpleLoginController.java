@@ -31,4 +31,13 @@ public class SimpleLoginController extends LoginController<SimpleCredentials> {
     protected Optional<SimpleCredentials> calculateResult() {
         return Optional.of(new SimpleCredentials(databaseUsernameField.getText(), databasePasswordField.getText()));
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public char[] getLocalDataSecret() {
+        return databasePasswordField.getText()
+                .toCharArray();
+    }
 }
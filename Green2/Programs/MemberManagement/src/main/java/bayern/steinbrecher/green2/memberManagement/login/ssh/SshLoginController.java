@@ -39,4 +39,13 @@ public class SshLoginController extends LoginController<SshCredentials> {
         return Optional.of(new SshCredentials(databaseUsernameField.getText(), databasePasswordField.getText(),
                 sshUsernameField.getText(), sshPasswordField.getText()));
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public char[] getLocalDataSecret() {
+        return databasePasswordField.getText()
+                .toCharArray();
+    }
 }
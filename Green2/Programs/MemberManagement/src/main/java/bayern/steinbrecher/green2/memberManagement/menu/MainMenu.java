@@ -1,10 +1,17 @@
 package bayern.steinbrecher.green2.memberManagement.menu;
 
 import bayern.steinbrecher.dbConnector.DBConnection;
+import bayern.steinbrecher.green2.memberManagement.data.MemberSnapshot;
+import bayern.steinbrecher.green2.memberManagement.data.SnapshotStore;
+import bayern.steinbrecher.green2.memberManagement.menu.MainMenuController.ValidatedConnection;
 import bayern.steinbrecher.green2.sharedBasis.data.EnvironmentHandler;
 import bayern.steinbrecher.wizard.StandaloneWizardPage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Callable;
 
 /**
  * Represents the main menu containing the main functions.
@@ -14,19 +21,60 @@ import java.util.Optional;
 public class MainMenu extends StandaloneWizardPage<Optional<Void>, MainMenuController> {
 
     private final DBConnection dbConnection;
+    private final MemberSnapshot offlineSnapshot;
+    private final Callable<Optional<ValidatedConnection>> reconnect;
+    private final SnapshotStore snapshotStore;
+    private final boolean useMemberChangeLog;
 
     /**
      * Creates a Menu which contains controls for all the functionality to be used by the user.
      *
-     * @param dbConnection The connection to use for querying data.
+     * @param dbConnection  The connection to use for querying data.
+     * @param snapshotStore      The store to keep a local snapshot of the data in. If {@code null} no snapshot is
+     *                           kept.
+     * @param useMemberChangeLog Whether the change log of member is installed and should be used for refreshing
+     *                           member.
      */
-    public MainMenu(DBConnection dbConnection) {
+    public MainMenu(@NotNull DBConnection dbConnection, @Nullable SnapshotStore snapshotStore,
+                    boolean useMemberChangeLog) {
         super("MainMenu.fxml", EnvironmentHandler.RESOURCE_BUNDLE);
-        this.dbConnection = dbConnection;
+        this.dbConnection = Objects.requireNonNull(dbConnection);
+        this.offlineSnapshot = null;
+        this.reconnect = null;
+        this.snapshotStore = snapshotStore;
+        this.useMemberChangeLog = useMemberChangeLog;
+    }
+
+    /**
+     * Creates a Menu which works offline on the given snapshot until the database is reachable again. The change log
+     * of member is used only if {@code reconnect} installed it.
+     *
+     * @param offlineSnapshot The snapshot of the data to work on.
+     * @param reconnect       Tries to establish and validate a connection to the database. It is called periodically
+     *                        until the database is reachable.
+     * @param snapshotStore   The store to keep a local snapshot of the data in as soon as the database is reachable
+     *                        again. If {@code null} no snapshot is kept.
+     * @since 2u14
+     */
+    public MainMenu(@NotNull MemberSnapshot offlineSnapshot,
+                    @NotNull Callable<Optional<ValidatedConnection>> reconnect,
+                    @Nullable SnapshotStore snapshotStore) {
+        super("MainMenu.fxml", EnvironmentHandler.RESOURCE_BUNDLE);
+        this.dbConnection = null;
+        this.offlineSnapshot = Objects.requireNonNull(offlineSnapshot);
+        this.reconnect = Objects.requireNonNull(reconnect);
+        this.snapshotStore = snapshotStore;
+        this.useMemberChangeLog = false;
     }
 
     @Override
     protected void afterControllerInitialized() {
-        getController().setDbConnection(dbConnection);
+        getController().setSnapshotStore(snapshotStore);
+        getController().setUseMemberChangeLog(useMemberChangeLog);
+        if (offlineSnapshot == null) {
+            getController().setDbConnection(dbConnection);
+        } else {
+            getController().openOffline(offlineSnapshot, reconnect);
+        }
     }
 }
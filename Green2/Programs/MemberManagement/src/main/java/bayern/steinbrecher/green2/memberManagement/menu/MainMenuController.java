@@ -6,19 +6,39 @@ import bayern.steinbrecher.dbConnector.query.GenerationFailedException;
 import bayern.steinbrecher.dbConnector.query.QueryFailedException;
 import bayern.steinbrecher.dbConnector.scheme.TableScheme;
 import bayern.steinbrecher.green2.memberManagement.contribution.Contribution;
+import bayern.steinbrecher.green2.memberManagement.data.BackgroundRefresher;
+import bayern.steinbrecher.green2.memberManagement.data.BirthdayQuery;
+import bayern.steinbrecher.green2.memberManagement.data.CompletableFutureProperty;
+import bayern.steinbrecher.green2.memberManagement.data.DerivedViewCache;
+import bayern.steinbrecher.green2.memberManagement.data.HonoringsIndex;
+import bayern.steinbrecher.green2.memberManagement.data.MemberChangeLog;
+import bayern.steinbrecher.green2.memberManagement.data.MemberSnapshot;
+import bayern.steinbrecher.green2.memberManagement.data.SerialLetterQuery;
+import bayern.steinbrecher.green2.memberManagement.data.SnapshotDiff;
+import bayern.steinbrecher.green2.memberManagement.data.SnapshotStore;
+import bayern.steinbrecher.green2.memberManagement.data.TableChangeProbe;
 import bayern.steinbrecher.green2.memberManagement.generator.AddressGenerator;
 import bayern.steinbrecher.green2.memberManagement.generator.BirthdayGenerator;
 import bayern.steinbrecher.green2.memberManagement.people.Originator;
 import bayern.steinbrecher.green2.memberManagement.query.Query;
 import bayern.steinbrecher.green2.memberManagement.sepaform.SepaForm;
 import bayern.steinbrecher.green2.memberManagement.utility.CheckReportDialogUtility;
+import bayern.steinbrecher.green2.memberManagement.utility.MetricsDialogUtility;
 import bayern.steinbrecher.green2.sharedBasis.data.AppInfo;
+import bayern.steinbrecher.green2.sharedBasis.data.BirthdayRule;
 import bayern.steinbrecher.green2.sharedBasis.data.EnvironmentHandler;
 import bayern.steinbrecher.green2.sharedBasis.data.ProfileSettings;
 import bayern.steinbrecher.green2.sharedBasis.data.Tables;
+import bayern.steinbrecher.green2.sharedBasis.diagnostics.DbQueryTracer;
+import bayern.steinbrecher.green2.sharedBasis.diagnostics.ExportEvent;
+import bayern.steinbrecher.green2.sharedBasis.diagnostics.FxStallEvent;
+import bayern.steinbrecher.green2.sharedBasis.diagnostics.StartupTracer;
 import bayern.steinbrecher.green2.sharedBasis.people.Member;
 import bayern.steinbrecher.green2.sharedBasis.people.MemberBuilder;
+import bayern.steinbrecher.green2.sharedBasis.utility.ExecutorUtility;
+import bayern.steinbrecher.green2.sharedBasis.utility.FxUpdateScheduler;
 import bayern.steinbrecher.green2.sharedBasis.utility.IOStreamUtility;
+import bayern.steinbrecher.green2.sharedBasis.utility.MetricsRegistry;
 import bayern.steinbrecher.green2.sharedBasis.utility.PathUtility;
 import bayern.steinbrecher.javaUtility.DialogCreationException;
 import bayern.steinbrecher.javaUtility.DialogFactory;
@@ -66,8 +86,10 @@ import javafx.scene.shape.Rectangle;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
+import javafx.stage.WindowEvent;
 import javafx.util.Pair;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.awt.Desktop;
 import java.io.File;
@@ -75,11 +97,14 @@ import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.file.Files;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -93,13 +118,19 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -115,7 +146,13 @@ public class MainMenuController extends StandaloneWizardPageController<Optional<
             = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM)
             .withZone(ZoneId.systemDefault());
     private static final int CURRENT_YEAR = LocalDate.now().getYear();
+    private static final int DEFAULT_BIRTHDAY_YEAR_COUNT = 5;
+    private static final Duration RECONNECT_INTERVAL = Duration.ofSeconds(30);
     public static final SepaGenerator SEPA_GENERATOR = SepaGenerator.getGenerator(SepaVersion.PAIN_008_001_02);
+    /**
+     * Measures the actions of the user which disable their control while running.
+     */
+    private static final MetricsRegistry.Timer ACTION_TIMER = MetricsRegistry.timer("ui.action");
     private Stage stage;
     private DBConnection dbConnection;
     private final ObjectProperty<Optional<LocalDateTime>> dataLastUpdated
@@ -123,21 +160,69 @@ public class MainMenuController extends StandaloneWizardPageController<Optional<
     private final CompletableFutureProperty<Set<Member>> member = new CompletableFutureProperty<>();
     private final CompletableFutureProperty<Map<String, String>> nicknames = new CompletableFutureProperty<>();
     private final BooleanProperty allDataAvailable = new SimpleBooleanProperty(this, "allDataAvailable");
+    /**
+     * The phase of the startup between creating the main menu and all data being available the first time.
+     */
+    private final StartupTracer.Phase loadDataPhase = StartupTracer.begin("Load data");
     private final BooleanProperty activateBirthdayFeatures
             = new SimpleBooleanProperty(this, "activateBirthdayFeatures", true);
     private final ReadOnlyBooleanWrapper honoringsAvailable = new ReadOnlyBooleanWrapper(false);
+    private final HonoringsIndex honoringsIndex = new HonoringsIndex();
+    /**
+     * Memoizes views derived from {@link #member} and {@link #nicknames}. It is invalidated whenever any of them
+     * changes.
+     */
+    private final DerivedViewCache derivedViews = new DerivedViewCache();
+    /**
+     * Refreshes {@link #member} and {@link #nicknames} in the background if the loaded profile specifies
+     * {@link ProfileSettings#REFRESH_INTERVAL_SECONDS}.
+     */
+    private BackgroundRefresher<Map<String, String>> backgroundRefresher;
+    /**
+     * The log of changes of {@link #member} or {@code null} if it is not used.
+     */
+    private MemberChangeLog memberChangeLog;
+    /**
+     * Whether {@link #memberChangeLog} is installed and should be used for connections set later on.
+     */
+    private boolean useMemberChangeLog;
+    /**
+     * The snapshot of {@link #member} which was applied to {@link #honoringsIndex} last. It is only accessed by
+     * {@link ExecutorUtility#SERIAL_EXECUTOR}.
+     */
+    private Set<Member> publishedMember = Set.of();
+    /**
+     * Holds whether the menu works on a local snapshot since the database is not reachable.
+     */
+    private final ReadOnlyBooleanWrapper offline = new ReadOnlyBooleanWrapper(this, "offline", false);
+    /**
+     * The store which keeps a local snapshot of {@link #member} and {@link #nicknames} or {@code null} if the loaded
+     * profile does not keep any.
+     */
+    private SnapshotStore snapshotStore;
+    /**
+     * The periodic attempts to reconnect to the database while working {@link #offline} or {@code null} if there are
+     * none.
+     */
+    private ScheduledFuture<?> reconnectAttempts;
+    private Callable<Optional<ValidatedConnection>> reconnect;
+    private final AtomicBoolean reconnecting = new AtomicBoolean(false);
 
     @FXML
     private MenuItem generateAddressesBirthdayItem;
     @FXML
     private MenuItem generateBirthdayInfosItem;
     @FXML
+    private MenuItem generateBirthdayInfosRangeItem;
+    @FXML
     private CheckedIntegerSpinner yearSpinner;
     @FXML
     private CheckedIntegerSpinner yearSpinner2;
     @FXML
     private CheckedIntegerSpinner yearSpinner3;
     @FXML
+    private CheckedIntegerSpinner yearCountSpinner;
+    @FXML
     private javafx.scene.control.Menu honoringsMenu;
     @FXML
     private javafx.scene.control.Menu licensesMenu;
@@ -160,17 +245,60 @@ public class MainMenuController extends StandaloneWizardPageController<Optional<
         generateAddressesBirthdayItem.textProperty().bind(
                 new SimpleStringProperty(EnvironmentHandler.getResourceValue("birthdayExpression") + " ")
                         .concat(yearBinding));
+
+        StringBinding lastYearBinding = Bindings.createStringBinding(
+                () -> yearSpinner.isValid() && yearCountSpinner.isValid()
+                        ? String.valueOf(yearSpinner.getValue() + yearCountSpinner.getValue() - 1) : "?",
+                yearSpinner.validProperty(), yearSpinner.valueProperty(),
+                yearCountSpinner.validProperty(), yearCountSpinner.valueProperty());
+        generateBirthdayInfosRangeItem.textProperty().bind(
+                new SimpleStringProperty(EnvironmentHandler.getResourceValue("groupedBirthdayMember") + " ")
+                        .concat(yearBinding)
+                        .concat(" - ")
+                        .concat(lastYearBinding));
+    }
+
+    /**
+     * Records the durations of loading the given data and registers a gauge for the number of loaded entries.
+     */
+    private static <T> void registerMetrics(CompletableFutureProperty<T> data, String name, ToIntFunction<T> size) {
+        MetricsRegistry.Timer loadTimer = MetricsRegistry.timer("data.load." + name);
+        // NOTE Gauges are read in the background where the property itself must not be accessed
+        AtomicInteger loadedEntries = new AtomicInteger();
+        MetricsRegistry.gauge("data." + name, loadedEntries::get);
+        data.stateProperty().addListener((obs, oldState, newState) -> {
+            if (newState == CompletableFutureProperty.DataState.READY) {
+                data.getLoadingDuration()
+                        .ifPresent(duration -> loadTimer.record(duration.toNanos()));
+                loadedEntries.set(size.applyAsInt(data.get().join()));
+            }
+        });
     }
 
     private void bindAvailabilityInformations() {
         allDataAvailable.bind(member.availableProperty()
                 .and(nicknames.availableProperty()));
+        allDataAvailable.addListener((obs, allWereAvailable, allAreAvailable) -> {
+            if (allAreAvailable) {
+                loadDataPhase.close();
+                StartupTracer.interactive(stage);
+                markDataUpdated();
+                if (snapshotStore != null && !isOffline()) {
+                    persistSnapshot(snapshotStore);
+                }
+            }
+        });
         dataLastUpdatedLabel.textProperty().bind(Bindings.createStringBinding(() -> {
             Optional<LocalDateTime> dataLastUpdatedOptional = getDataLastUpdated();
             String text;
             if (dataLastUpdatedOptional.isPresent()) {
                 if (dataLastUpdatedOptional.get().equals(LocalDateTime.MIN)) {
                     text = EnvironmentHandler.getResourceValue("dataQueryFailed");
+                } else if (isOffline()) {
+                    text = EnvironmentHandler.getResourceValue(
+                            "offlineDataOf", dataLastUpdatedOptional.get()
+                                    .format(DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM)),
+                            ChronoUnit.DAYS.between(dataLastUpdatedOptional.get(), LocalDateTime.now()));
                 } else {
                     text = EnvironmentHandler.getResourceValue(
                             "dataLastUpdated", dataLastUpdatedOptional.get()
@@ -180,7 +308,21 @@ public class MainMenuController extends StandaloneWizardPageController<Optional<
                 text = EnvironmentHandler.getResourceValue("noData");
             }
             return text;
-        }, dataLastUpdatedProperty()));
+        }, dataLastUpdatedProperty(), offlineProperty()));
+    }
+
+    /**
+     * Stores a snapshot of the currently available member and nicknames in the background.
+     */
+    private void persistSnapshot(SnapshotStore store) {
+        member.get()
+                .thenAcceptBothAsync(nicknames.get(), (currentMember, currentNicknames) -> {
+                    try {
+                        store.save(new MemberSnapshot(currentMember, currentNicknames, LocalDateTime.now()));
+                    } catch (IOException | GeneralSecurityException ex) {
+                        LOGGER.log(Level.WARNING, "Could not store a local snapshot of the data", ex);
+                    }
+                }, ExecutorUtility.IO_EXECUTOR);
     }
 
     private void showHonorings(int yearsOfMembership) {
@@ -197,9 +339,8 @@ public class MainMenuController extends StandaloneWizardPageController<Optional<
                     EnvironmentHandler.getResourceValue("cityCode"),
                     EnvironmentHandler.getResourceValue("city")
             ));
-            result.addAll(streamCurrentMember()
-                    .filter(m -> !m.honorings().getOrDefault(yearsOfMembership, Boolean.FALSE))
-                    .filter(m -> yearSpinner.getValue() - m.memberSince().getYear() >= yearsOfMembership)
+            result.addAll(honoringsIndex.getDueMember(yearsOfMembership, yearSpinner.getValue())
+                    .stream()
                     .map(
                             m -> List.of(m.membershipnumber(),
                                     m.person().firstname(),
@@ -225,32 +366,52 @@ public class MainMenuController extends StandaloneWizardPageController<Optional<
         }
     }
 
-    private void generateHonoringsMenu() {
+    /**
+     * Calculates the differences to the previous snapshot whenever a new snapshot of member is available and applies
+     * them to {@link #honoringsIndex}. Hence only the changed member are reindexed instead of all of them. Snapshots
+     * are processed one after another in the order they became available.
+     */
+    private void indexMemberDiffs() {
         member.availableProperty().addListener((obs, wereAvailable, areAvailable) -> {
-            final Collection<MenuItem> membershipMenuItems = streamCurrentMember()
-                    .map(Member::honorings)
-                    .flatMap(h -> h.keySet().stream())
-                    .distinct()
-                    .sorted()
-                    .map(year -> {
-                        String membershipTitle = EnvironmentHandler.getResourceValue("yearsMembership", year);
-                        MenuItem membershipItem = new MenuItem(membershipTitle);
-                        membershipItem.setOnAction(aevt -> showHonorings(year));
-                        membershipItem.disableProperty()
-                                .bind(yearSpinner.validProperty().not());
-                        return membershipItem;
-                    })
-                    .collect(Collectors.toUnmodifiableList());
-            Platform.runLater(() -> {
-                honoringsMenu.getItems()
-                        .clear();
-                honoringsMenu.getItems()
-                        .addAll(membershipMenuItems);
-                honoringsAvailable.set(!membershipMenuItems.isEmpty());
-            });
+            if (areAvailable) {
+                CompletableFuture<Set<Member>> snapshot = member.get();
+                ExecutorUtility.SERIAL_EXECUTOR.execute(() -> {
+                    Set<Member> currentMember = snapshot.join();
+                    SnapshotDiff diff = SnapshotDiff.compute(publishedMember, currentMember);
+                    publishedMember = currentMember;
+                    if (diff.isEmpty()) {
+                        LOGGER.log(Level.FINE, "The new snapshot of member did not change anything");
+                    } else {
+                        LOGGER.log(Level.FINE, "The new snapshot of member differs: {0}", diff);
+                        // NOTE The menu has to be rebuilt only if the set of honored years of membership changed
+                        if (honoringsIndex.apply(diff)) {
+                            FxUpdateScheduler.schedule(honoringsMenu, this::updateHonoringsMenu);
+                        }
+                    }
+                });
+            }
         });
     }
 
+    private void updateHonoringsMenu() {
+        final Collection<MenuItem> membershipMenuItems = honoringsIndex.getThresholds()
+                .stream()
+                .map(year -> {
+                    String membershipTitle = EnvironmentHandler.getResourceValue("yearsMembership", year);
+                    MenuItem membershipItem = new MenuItem(membershipTitle);
+                    membershipItem.setOnAction(aevt -> showHonorings(year));
+                    membershipItem.disableProperty()
+                            .bind(yearSpinner.validProperty().not());
+                    return membershipItem;
+                })
+                .collect(Collectors.toUnmodifiableList());
+        honoringsMenu.getItems()
+                .clear();
+        honoringsMenu.getItems()
+                .addAll(membershipMenuItems);
+        honoringsAvailable.set(!membershipMenuItems.isEmpty());
+    }
+
     public static List<File> getLicenses() {
         List<File> licences;
         try {
@@ -287,9 +448,14 @@ public class MainMenuController extends StandaloneWizardPageController<Optional<
         yearSpinner2.valueFactoryProperty().bind(yearSpinner.valueFactoryProperty());
         yearSpinner3.valueFactoryProperty().bind(yearSpinner.valueFactoryProperty());
         yearSpinner.getValueFactory().setValue(CURRENT_YEAR + 1);
+        yearCountSpinner.getValueFactory().setValue(DEFAULT_BIRTHDAY_YEAR_COUNT);
 
         bindYearSpinnerTo();
         bindAvailabilityInformations();
+        registerMetrics(member, "member", Set::size);
+        registerMetrics(nicknames, "nicknames", Map::size);
+        member.addListener((obs, oldData, newData) -> derivedViews.invalidate());
+        nicknames.addListener((obs, oldData, newData) -> derivedViews.invalidate());
 
         //Bind activateBirthdayFeatures
         activateBirthdayFeatures.bind(Bindings.createBooleanBinding(
@@ -297,7 +463,7 @@ public class MainMenuController extends StandaloneWizardPageController<Optional<
                 EnvironmentHandler.loadedProfileProperty(),
                 EnvironmentHandler.getProfile().getProperty(ProfileSettings.ACTIVATE_BIRTHDAY_FEATURES)));
 
-        generateHonoringsMenu();
+        indexMemberDiffs();
         generateLicensesMenu();
     }
 
@@ -305,6 +471,12 @@ public class MainMenuController extends StandaloneWizardPageController<Optional<
         overlayBackground.widthProperty().bind(stage.widthProperty());
         overlayBackground.heightProperty().bind(stage.heightProperty());
         this.stage = stage;
+        stage.addEventHandler(WindowEvent.WINDOW_HIDDEN, wevt -> {
+            if (backgroundRefresher != null) {
+                backgroundRefresher.close();
+            }
+            stopReconnectAttempts();
+        });
     }
 
     /**
@@ -314,9 +486,119 @@ public class MainMenuController extends StandaloneWizardPageController<Optional<
      */
     public void setDbConnection(@NotNull DBConnection dbConnection) {
         this.dbConnection = Objects.requireNonNull(dbConnection, "The connection must not be null.");
+        if (backgroundRefresher != null) {
+            backgroundRefresher.close();
+        }
+        Callable<Map<String, String>> probe;
+        if (useMemberChangeLog && MemberChangeLog.isSupported(dbConnection)) {
+            MemberChangeLog changeLog = new MemberChangeLog(dbConnection);
+            memberChangeLog = changeLog;
+            TableChangeProbe nicknamesProbe = new TableChangeProbe(dbConnection, List.of(Tables.NICKNAMES));
+            probe = () -> {
+                Map<String, String> fingerprints = new HashMap<>(nicknamesProbe.call());
+                fingerprints.put(Tables.MEMBER.getTableName(), changeLog.readSyncToken());
+                return fingerprints;
+            };
+        } else {
+            memberChangeLog = null;
+            probe = new TableChangeProbe(dbConnection, List.of(Tables.MEMBER, Tables.NICKNAMES));
+        }
+        backgroundRefresher = new BackgroundRefresher<>(probe, this::refreshChangedTables, this::markDataUpdated);
+        int refreshIntervalSeconds = EnvironmentHandler.getProfile()
+                .getOrDefault(ProfileSettings.REFRESH_INTERVAL_SECONDS, 0);
+        if (refreshIntervalSeconds > 0) {
+            backgroundRefresher.start(Duration.ofSeconds(refreshIntervalSeconds));
+        }
         queryData();
     }
 
+    /**
+     * Sets whether the change log of member is installed and should be used for refreshing member. Otherwise the
+     * tables are probed for changes. It affects only connections set afterwards.
+     *
+     * @param useMemberChangeLog Whether to use the change log of member.
+     * @since 2u14
+     */
+    public void setUseMemberChangeLog(boolean useMemberChangeLog) {
+        this.useMemberChangeLog = useMemberChangeLog;
+    }
+
+    /**
+     * Sets the store which keeps a local snapshot of the data whenever all data was queried successfully.
+     *
+     * @param snapshotStore The store to keep the snapshot in or {@code null} if no snapshot should be kept.
+     * @since 2u14
+     */
+    public void setSnapshotStore(@Nullable SnapshotStore snapshotStore) {
+        this.snapshotStore = snapshotStore;
+    }
+
+    /**
+     * Works on the given snapshot instead of querying the database. The connection is reestablished periodically in
+     * the background. As soon as it succeeds the menu switches back to the database and queries the data again.
+     *
+     * @param snapshot  The snapshot to work on.
+     * @param reconnect Tries to establish and validate a connection to the database. It throws if the database is not
+     *                  reachable. It returns nothing if the database is reachable but not valid in which case no more
+     *                  attempts are made.
+     * @since 2u14
+     */
+    public void openOffline(@NotNull MemberSnapshot snapshot,
+                            @NotNull Callable<Optional<ValidatedConnection>> reconnect) {
+        this.reconnect = Objects.requireNonNull(reconnect);
+        offline.set(true);
+        member.set(CompletableFuture.completedFuture(snapshot.member()));
+        nicknames.set(CompletableFuture.completedFuture(snapshot.nicknames()));
+        dataLastUpdated.set(Optional.of(snapshot.created()));
+        long intervalMillis = RECONNECT_INTERVAL.toMillis();
+        reconnectAttempts = ExecutorUtility.SCHEDULED_EXECUTOR.scheduleWithFixedDelay(
+                this::reconnectNow, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Tries to reconnect to the database in the background.
+     */
+    private void reconnectNow() {
+        ExecutorUtility.IO_EXECUTOR.execute(this::tryReconnect);
+    }
+
+    /**
+     * Tries to reconnect to the database. If it succeeds and the database is valid the menu switches back to the
+     * database. Concurrent attempts are skipped.
+     */
+    private void tryReconnect() {
+        if (reconnecting.compareAndSet(false, true)) {
+            try {
+                Optional<ValidatedConnection> connection = reconnect.call();
+                if (connection.isPresent()) {
+                    LOGGER.log(Level.INFO, "The database is reachable again");
+                    Platform.runLater(() -> {
+                        if (isOffline()) {
+                            stopReconnectAttempts();
+                            offline.set(false);
+                            setUseMemberChangeLog(connection.get().memberChangeLogInstalled());
+                            setDbConnection(connection.get().connection());
+                        }
+                    });
+                } else {
+                    LOGGER.log(Level.WARNING, "The database is reachable again but not valid. The menu stays offline.");
+                    Platform.runLater(this::stopReconnectAttempts);
+                }
+            } catch (Exception ex) { //NOPMD - Connecting may fail for any reason.
+                LOGGER.log(Level.FINE, "The database is still not reachable", ex);
+            } finally {
+                reconnecting.set(false);
+            }
+        }
+    }
+
+    private void stopReconnectAttempts() {
+        if (reconnectAttempts != null) {
+            reconnectAttempts.cancel(false);
+            reconnectAttempts = null;
+        }
+    }
+
     private void showNoMemberForOutputDialog() {
         String noMemberForOutput = EnvironmentHandler.getResourceValue("noMemberForOutput");
         try {
@@ -332,8 +614,36 @@ public class MainMenuController extends StandaloneWizardPageController<Optional<
         if (requestedMember.isEmpty()) {
             throw new IllegalArgumentException("Passed empty list to generateAddresses(...)");
         }
+        ExportEvent export = new ExportEvent("Addresses");
         IOStreamUtility.printContent(
                 AddressGenerator.generateAddressData(requestedMember, nicknames.get().get()), outputFile, true);
+        export.finish(requestedMember.size(), outputFile);
+    }
+
+    /**
+     * Checks whether serial letters are queried directly from the database instead of being generated from member and
+     * nicknames. This is the case if not both of them are loaded and the database supports it.
+     */
+    private boolean isSerialLetterPushedDown() {
+        return !(member.isAvailable() && nicknames.isAvailable()) && SerialLetterQuery.isSupported(dbConnection);
+    }
+
+    /**
+     * Asks for a path and writes the given serial letter to it. If the serial letter is empty the user is informed
+     * instead.
+     */
+    private void printSerialLetter(SerialLetterQuery.SerialLetter serialLetter, Supplier<Optional<File>> askForPath)
+            throws IOException {
+        if (serialLetter.isEmpty()) {
+            showNoMemberForOutputDialog();
+        } else {
+            Optional<File> path = askForPath.get();
+            if (path.isPresent()) {
+                ExportEvent export = new ExportEvent("Serial letter");
+                IOStreamUtility.printContent(serialLetter, path.get(), true);
+                export.finish(serialLetter.rows().size(), path.get());
+            }
+        }
     }
 
     /**
@@ -341,16 +651,21 @@ public class MainMenuController extends StandaloneWizardPageController<Optional<
      */
     public void generateAddressesAll() {
         try {
-            Set<Member> memberList = streamCurrentMember().collect(Collectors.toSet());
-            if (memberList.isEmpty()) {
-                showNoMemberForOutputDialog();
+            if (isSerialLetterPushedDown()) {
+                printSerialLetter(new SerialLetterQuery(dbConnection).queryAll(),
+                        () -> EnvironmentHandler.askForSavePath(stage, "serialLetterAll", "csv"));
             } else {
-                Optional<File> path = EnvironmentHandler.askForSavePath(stage, "serialLetterAll", "csv");
-                if (path.isPresent()) {
-                    generateAddresses(memberList, path.get());
+                Set<Member> memberList = streamCurrentMember().collect(Collectors.toSet());
+                if (memberList.isEmpty()) {
+                    showNoMemberForOutputDialog();
+                } else {
+                    Optional<File> path = EnvironmentHandler.askForSavePath(stage, "serialLetterAll", "csv");
+                    if (path.isPresent()) {
+                        generateAddresses(memberList, path.get());
+                    }
                 }
             }
-        } catch (InterruptedException | ExecutionException | IOException ex) {
+        } catch (InterruptedException | ExecutionException | IOException | QueryFailedException ex) {
             LOGGER.log(Level.SEVERE, "Could not generate addresses.", ex);
         }
     }
@@ -363,26 +678,144 @@ public class MainMenuController extends StandaloneWizardPageController<Optional<
      */
     public void generateAddressesBirthday(int year) {
         try {
-            Set<Member> memberBirthdayList = streamBirthdayMembers(year)
-                    .collect(Collectors.toSet());
-            if (memberBirthdayList.isEmpty()) {
-                showNoMemberForOutputDialog();
+            if (isSerialLetterPushedDown()) {
+                printSerialLetter(new SerialLetterQuery(dbConnection).queryBirthday(compileBirthdayRule(), year),
+                        () -> EnvironmentHandler.askForSavePath(stage, "serialLetterBirthday", "csv", year));
             } else {
-                Optional<File> path
-                        = EnvironmentHandler.askForSavePath(stage, "serialLetterBirthday", "csv", year);
-                if (path.isPresent()) {
-                    generateAddresses(memberBirthdayList, path.get());
+                Set<Member> memberBirthdayList = streamBirthdayMembers(year)
+                        .collect(Collectors.toSet());
+                if (memberBirthdayList.isEmpty()) {
+                    showNoMemberForOutputDialog();
+                } else {
+                    Optional<File> path
+                            = EnvironmentHandler.askForSavePath(stage, "serialLetterBirthday", "csv", year);
+                    if (path.isPresent()) {
+                        generateAddresses(memberBirthdayList, path.get());
+                    }
                 }
             }
-        } catch (InterruptedException | ExecutionException | IOException ex) {
+        } catch (InterruptedException | ExecutionException | IOException | QueryFailedException ex) {
             LOGGER.log(Level.SEVERE, "Could not generate addresses.", ex);
         }
     }
 
+    /**
+     * Generates a file containing the grouped birthday member for each year from {@code firstYear} to
+     * {@code lastYear}. The member getting notified in any of these years are determined in a single pass over all
+     * member in the background. The files are written concurrently into a directory the user chooses. The FX
+     * application thread is not blocked meanwhile. If any file could not be written the user is informed.
+     *
+     * @param firstYear The first year to generate a file for.
+     * @param lastYear  The last year to generate a file for.
+     * @since 2u14
+     */
+    public void generateBirthdayInfos(int firstYear, int lastYear) {
+        // NOTE The state of the loaded data must only be accessed on the FX application thread
+        Optional<List<Member>> currentMember = member.isAvailable()
+                ? Optional.of(getCurrentMember())
+                : Optional.empty();
+        BirthdayRule rule = compileBirthdayRule();
+        CompletableFuture.supplyAsync(() -> {
+                    SortedMap<Integer, List<Member>> notifiedByYear;
+                    if (currentMember.isPresent()) {
+                        notifiedByYear = BirthdayGenerator.groupNotifiedByYear(
+                                currentMember.get(), firstYear, lastYear);
+                    } else {
+                        notifiedByYear = queryNotifiedByYear(rule, firstYear, lastYear);
+                    }
+                    return notifiedByYear;
+                }, ExecutorUtility.IO_EXECUTOR)
+                .thenComposeAsync(this::printBirthdayInfos, FxUpdateScheduler::schedule)
+                .whenCompleteAsync((result, ex) -> {
+                    if (ex != null) {
+                        LOGGER.log(Level.SEVERE, "Could not generate birthday infos of all requested years.", ex);
+                        showExportFailedDialog(ex);
+                    }
+                }, FxUpdateScheduler::schedule);
+    }
+
+    /**
+     * Queries the member getting notified in each year of the given range by pushing the selection down to the
+     * database.
+     */
+    private SortedMap<Integer, List<Member>> queryNotifiedByYear(BirthdayRule rule, int firstYear, int lastYear) {
+        SortedMap<Integer, List<Member>> notifiedByYear = new TreeMap<>();
+        BirthdayQuery birthdayQuery = new BirthdayQuery(dbConnection);
+        for (int year = firstYear; year <= lastYear; year++) {
+            try {
+                notifiedByYear.put(year, birthdayQuery.queryNotified(rule, year));
+            } catch (GenerationFailedException | QueryFailedException ex) {
+                throw new CompletionException(
+                        String.format("Could not query the member getting notified in %d", year), ex);
+            }
+        }
+        return notifiedByYear;
+    }
+
+    /**
+     * Asks for a directory and writes a file for each year having any notified member into it. It has to be called on
+     * the FX application thread.
+     *
+     * @return The future completed when all files are written or exceptionally if any of them could not be written.
+     */
+    private CompletableFuture<Void> printBirthdayInfos(SortedMap<Integer, List<Member>> notifiedByYear) {
+        notifiedByYear.values()
+                .removeIf(List::isEmpty);
+        CompletableFuture<Void> printed;
+        Optional<File> directory;
+        if (notifiedByYear.isEmpty()) {
+            showNoMemberForOutputDialog();
+            directory = Optional.empty();
+        } else {
+            directory = EnvironmentHandler.askForSaveDirectory(stage);
+        }
+        if (directory.isPresent()) {
+            CompletableFuture<?>[] printTasks = notifiedByYear.entrySet()
+                    .stream()
+                    .map(entry -> CompletableFuture.runAsync(() -> {
+                        int year = entry.getKey();
+                        File outputFile = IOStreamUtility.findUnusedFile(directory.get(),
+                                EnvironmentHandler.getResourceValue("birthdaysOfYear", year), "csv");
+                        ExportEvent export = new ExportEvent("Birthday infos");
+                        try {
+                            IOStreamUtility.printContent(
+                                    writer -> BirthdayGenerator.printGroupedOutput(entry.getValue(), year, writer),
+                                    outputFile, true);
+                            export.finish(entry.getValue().size(), outputFile);
+                        } catch (IOException ex) {
+                            throw new CompletionException(ex);
+                        }
+                    }, ExecutorUtility.IO_EXECUTOR))
+                    .toArray(CompletableFuture<?>[]::new);
+            printed = CompletableFuture.allOf(printTasks);
+        } else {
+            printed = CompletableFuture.completedFuture(null);
+        }
+        return printed;
+    }
+
+    private void showExportFailedDialog(Throwable cause) {
+        String exportFailed = EnvironmentHandler.getResourceValue("exportFailed");
+        try {
+            Alert alert = EnvironmentHandler.DIALOG_FACTORY.createStacktraceAlert(cause, exportFailed, exportFailed);
+            alert.show();
+        } catch (DialogCreationException ex) {
+            LOGGER.log(Level.WARNING, "Could not inform user graphically about the failed export", ex);
+        }
+    }
+
     //TODO Where to place this method? How to generalize it for all optional columns?
     private boolean isContributionColumnEnabled() {
-        return streamCurrentMember()
-                .anyMatch(m -> m.contribution().isPresent());
+        boolean contributionColumnEnabled;
+        try {
+            contributionColumnEnabled = derivedViews.get("contributionColumnEnabled", () -> getCurrentMember()
+                    .stream()
+                    .anyMatch(m -> m.contribution().isPresent()));
+        } catch (CompletionException ex) {
+            LOGGER.log(Level.SEVERE, "Failed to query current members. Assume there is no contribution column.", ex);
+            contributionColumnEnabled = false;
+        }
+        return contributionColumnEnabled;
     }
 
     private Pair<Wizard, Pair<Supplier<Set<Member>>, Supplier<Originator>>> generateSepaWizard(
@@ -442,6 +875,7 @@ public class MainMenuController extends StandaloneWizardPageController<Optional<
     private void exportSepaResults(Set<Member> selectedMember, Originator originator) {
         Optional<File> optSavePath = EnvironmentHandler.askForSavePath(stage, "sepa", "xml");
         if (optSavePath.isPresent()) {
+            ExportEvent export = new ExportEvent("SEPA");
             Collection<DirectDebitTransaction> transactions
                     = generateTransactions(selectedMember, originator.getPurpose());
             try {
@@ -464,6 +898,7 @@ public class MainMenuController extends StandaloneWizardPageController<Optional<
                     boolean useBOM = EnvironmentHandler.getProfile()
                             .getOrDefault(ProfileSettings.SEPA_USE_BOM, true);
                     IOStreamUtility.printContent(sepaContent, optSavePath.get(), useBOM);
+                    export.finish(transactions.size(), optSavePath.get());
                 } else {
                     LOGGER.log(Level.WARNING, "The SEPA description is invalid");
                 }
@@ -515,6 +950,8 @@ public class MainMenuController extends StandaloneWizardPageController<Optional<
      */
     private void callOnDisabled(EventObject aevt, Runnable run) {
         Object sourceObj = aevt.getSource();
+        FxStallEvent stall = new FxStallEvent(String.valueOf(sourceObj));
+        long start = System.nanoTime();
         Class<?> sourceClass = sourceObj.getClass();
         if (sourceClass.isAssignableFrom(Node.class) || sourceClass.isAssignableFrom(MenuItem.class)) {
             try {
@@ -540,29 +977,85 @@ public class MainMenuController extends StandaloneWizardPageController<Optional<
                     Level.WARNING, "The source of the ActionEvent is no Node and no MenuItem. It can´t be disabled.");
             run.run();
         }
+        ACTION_TIMER.recordSince(start);
+        stall.commit();
     }
 
     private <T> CompletableFuture<T> getSupplyTableContentFuture(TableScheme<T, ?> scheme) {
         return CompletableFuture.supplyAsync(() -> {
             try {
-                return dbConnection.getTableContent(scheme);
+                return DbQueryTracer.getTableContent(dbConnection, scheme);
             } catch (GenerationFailedException | QueryFailedException ex) {
                 throw new CompletionException(
                         String.format("Could not get table content of '%s'", scheme.getTableName()), ex);
             }
-        });
+        }, ExecutorUtility.IO_EXECUTOR);
     }
 
     @FXML
     private void queryData() {
-        member.set(getSupplyTableContentFuture(Tables.MEMBER));
-        nicknames.set(getSupplyTableContentFuture(Tables.NICKNAMES));
-        allDataAvailableProperty()
-                .addListener((obs, allWereAvailable, allAreAvailable) -> {
-                    if (allAreAvailable) {
-                        Platform.runLater(() -> dataLastUpdated.set(Optional.of(LocalDateTime.now())));
-                    }
-                });
+        if (isOffline()) {
+            LOGGER.log(Level.INFO, "The database is not reachable. The data is queried as soon as it is reachable.");
+            reconnectNow();
+        } else {
+            CompletableFuture<Void> rebased = backgroundRefresher.rebase();
+            member.set(rebased.thenCompose(ignored -> getSupplyTableContentFuture(Tables.MEMBER)));
+            nicknames.set(rebased.thenCompose(ignored -> getSupplyTableContentFuture(Tables.NICKNAMES)));
+        }
+    }
+
+    /**
+     * Queries the content of all tables whose fingerprint changed and replaces the corresponding data. All replacements
+     * are applied at once on the FX application thread. Hence the menu never operates on a mix of old and new data.
+     */
+    private void refreshChangedTables(Map<String, String> previous, Map<String, String> current)
+            throws GenerationFailedException, QueryFailedException {
+        List<Runnable> replacements = new ArrayList<>();
+        if (!Objects.equals(previous.get(Tables.MEMBER.getTableName()), current.get(Tables.MEMBER.getTableName()))) {
+            member.markStale();
+            CompletableFuture<Set<Member>> refreshedMember = CompletableFuture.completedFuture(
+                    refreshMember(previous.get(Tables.MEMBER.getTableName())));
+            replacements.add(() -> member.set(refreshedMember));
+        }
+        if (!Objects.equals(
+                previous.get(Tables.NICKNAMES.getTableName()), current.get(Tables.NICKNAMES.getTableName()))) {
+            nicknames.markStale();
+            CompletableFuture<Map<String, String>> refreshedNicknames = CompletableFuture.completedFuture(
+                    DbQueryTracer.getTableContent(dbConnection, Tables.NICKNAMES));
+            replacements.add(() -> nicknames.set(refreshedNicknames));
+        }
+        FxUpdateScheduler.schedule(() -> replacements.forEach(Runnable::run));
+    }
+
+    /**
+     * Returns the current member. If the change log is used and the currently loaded member are available only the
+     * member which changed since {@code previousSyncToken} are queried. Otherwise all member are queried.
+     */
+    private Set<Member> refreshMember(String previousSyncToken) throws GenerationFailedException, QueryFailedException {
+        CompletableFuture<Set<Member>> loadedMember = member.get();
+        Set<Member> refreshedMember;
+        if (memberChangeLog == null || !loadedMember.isDone() || loadedMember.isCompletedExceptionally()) {
+            refreshedMember = DbQueryTracer.getTableContent(dbConnection, Tables.MEMBER);
+        } else {
+            MemberChangeLog.MemberDelta delta = memberChangeLog.readDelta(previousSyncToken);
+            LOGGER.log(Level.INFO, "Applying {0} changed and {1} removed member",
+                    new Object[]{delta.changed().size(), delta.removed().size()});
+            refreshedMember = delta.applyTo(loadedMember.join());
+        }
+        return refreshedMember;
+    }
+
+    /**
+     * Sets the time the data was known to be up to date last to now.
+     */
+    private void markDataUpdated() {
+        LocalDateTime now = LocalDateTime.now();
+        FxUpdateScheduler.schedule(dataLastUpdated, () -> {
+            // NOTE The data of a snapshot is only as up to date as the snapshot itself
+            if (!isOffline()) {
+                dataLastUpdated.set(Optional.of(now));
+            }
+        });
     }
 
     @FXML
@@ -777,8 +1270,11 @@ public class MainMenuController extends StandaloneWizardPageController<Optional<
                     } else {
                         Optional<File> path = EnvironmentHandler.askForSavePath(stage, "birthdays", "csv", year);
                         if (path.isPresent()) {
+                            ExportEvent export = new ExportEvent("Birthday infos");
                             IOStreamUtility.printContent(
-                                    BirthdayGenerator.createGroupedOutput(birthdayList, year), path.get(), true);
+                                    writer -> BirthdayGenerator.printGroupedOutput(birthdayList, year, writer),
+                                    path.get(), true);
+                            export.finish(birthdayList.size(), path.get());
                         }
                     }
                 } catch (IOException ex) {
@@ -788,6 +1284,16 @@ public class MainMenuController extends StandaloneWizardPageController<Optional<
         }
     }
 
+    @FXML
+    @SuppressWarnings("unused")
+    private void generateBirthdayInfosRange(ActionEvent aevt) {
+        if (yearSpinner.isValid() && yearCountSpinner.isValid()) {
+            int firstYear = yearSpinner.getValue();
+            int lastYear = firstYear + yearCountSpinner.getValue() - 1;
+            callOnDisabled(aevt, () -> generateBirthdayInfos(firstYear, lastYear));
+        }
+    }
+
     @FXML
     @SuppressWarnings("unused")
     private void showCredits() {
@@ -801,6 +1307,12 @@ public class MainMenuController extends StandaloneWizardPageController<Optional<
         }
     }
 
+    @FXML
+    @SuppressWarnings("unused")
+    private void showDiagnostics() {
+        MetricsDialogUtility.showMetricsDialog(stage);
+    }
+
     @FXML
     @SuppressWarnings("unused")
     private void showVersion() {
@@ -856,6 +1368,26 @@ public class MainMenuController extends StandaloneWizardPageController<Optional<
         return allDataAvailable.get();
     }
 
+    /**
+     * Returns the property holding whether the menu works on a local snapshot since the database is not reachable.
+     *
+     * @return The property holding whether the menu works on a local snapshot since the database is not reachable.
+     * @since 2u14
+     */
+    public ReadOnlyBooleanProperty offlineProperty() {
+        return offline.getReadOnlyProperty();
+    }
+
+    /**
+     * Checks whether the menu works on a local snapshot since the database is not reachable.
+     *
+     * @return {@code true} only if the menu works on a local snapshot since the database is not reachable.
+     * @since 2u14
+     */
+    public boolean isOffline() {
+        return offline.get();
+    }
+
     /**
      * Returns the property holding whether the currently loaded profile has activated the birthday features.
      *
@@ -904,123 +1436,88 @@ public class MainMenuController extends StandaloneWizardPageController<Optional<
         return honoringsAvailableProperty().get();
     }
 
-    private Stream<Member> streamCurrentMember() {
+    /**
+     * Returns the memoized list of all member which did not leave yet.
+     *
+     * @throws CompletionException Thrown if the member could not be queried.
+     */
+    private List<Member> getCurrentMember() {
+        return derivedViews.get("currentMember", () -> {
+            try {
+                return member.get()
+                        .get()
+                        .stream()
+                        .filter(m -> m.leavingDate().isEmpty())
+                        .collect(Collectors.toUnmodifiableList());
+            } catch (InterruptedException | ExecutionException ex) {
+                throw new CompletionException(ex);
+            }
+        });
+    }
+
+    private Stream<Member> streamView(Supplier<List<Member>> view) {
         try {
-            return member.get()
-                    .get()
-                    .stream()
-                    .filter(m -> m.leavingDate().isEmpty());
-        } catch (InterruptedException | ExecutionException ex) {
+            return view.get()
+                    .stream();
+        } catch (CompletionException ex) {
             LOGGER.log(Level.SEVERE, "Failed to query current members. Return empty list.", ex);
             return Stream.of();
         }
     }
 
-    private Stream<Member> streamNonContributionFree() {
-        return streamCurrentMember()
-                .filter(m -> !m.contributionfree());
+    private Stream<Member> streamCurrentMember() {
+        return streamView(this::getCurrentMember);
     }
 
-    private Stream<Member> streamBirthdayMembers(int year) {
-        return streamCurrentMember()
-                .filter(m -> BirthdayGenerator.getsNotified(m, year));
+    private Stream<Member> streamNonContributionFree() {
+        return streamView(() -> derivedViews.get("nonContributionFree", () -> getCurrentMember()
+                .stream()
+                .filter(m -> !m.contributionfree())
+                .collect(Collectors.toUnmodifiableList())));
     }
 
-    @Override
-    protected Optional<Void> calculateResult() {
-        return Optional.empty();
+    private static BirthdayRule compileBirthdayRule() {
+        return BirthdayRule.compile(
+                EnvironmentHandler.getProfile().getOrDefault(ProfileSettings.BIRTHDAY_EXPRESSION, ""));
     }
 
     /**
-     * Represents a property holding a {@link CompletableFuture}. It extends {@link SimpleObjectProperty} with the
-     * property of availability of the wrapped {@link CompletableFuture}.
-     *
-     * @param <T> The type of the result of the wrapped {@link CompletableFuture}.
+     * Returns the current member getting a birthday notification in the given year. If no snapshot of all member is
+     * available the selection is pushed down to the database and only the matching member are queried.
      */
-    private static class CompletableFutureProperty<T> extends SimpleObjectProperty<CompletableFuture<T>> {
-
-        private static final Logger LOGGER = Logger.getLogger(CompletableFutureProperty.class.getName());
-        private final BooleanProperty available = new SimpleBooleanProperty();
-
-        /**
-         * Creates a {@link CompletableFutureProperty} containing {@code null}.
-         */
-        CompletableFutureProperty() {
-            this(null);
-        }
-
-        /**
-         * Creates a {@link CompletableFutureProperty} containing the given value.
-         *
-         * @param initialValue The initial value.
-         */
-        CompletableFutureProperty(CompletableFuture<T> initialValue) {
-            super(initialValue);
-        }
-
-        private void updateAvailableProperty(CompletableFuture<T> newValue) {
-            available.set(false);
-            CompletableFuture.runAsync(() -> {
+    private Stream<Member> streamBirthdayMembers(int year) {
+        Stream<Member> birthdayMember;
+        if (member.isAvailable()) {
+            birthdayMember = streamView(() -> derivedViews.get("birthdayMember" + year, () -> getCurrentMember()
+                    .stream()
+                    .filter(m -> BirthdayGenerator.getsNotified(m, year))
+                    .collect(Collectors.toUnmodifiableList())));
+        } else {
+            birthdayMember = streamView(() -> {
                 try {
-                    newValue.get();
-                    available.set(true);
-                } catch (InterruptedException | ExecutionException ex) {
-                    LOGGER.log(Level.SEVERE, null, ex);
+                    return new BirthdayQuery(dbConnection).queryNotified(compileBirthdayRule(), year);
+                } catch (GenerationFailedException | QueryFailedException ex) {
+                    throw new CompletionException(
+                            String.format("Could not query the member getting notified in %d", year), ex);
                 }
             });
         }
+        return birthdayMember;
+    }
 
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public void set(CompletableFuture<T> newValue) {
-            updateAvailableProperty(newValue);
-            super.set(newValue);
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public void setValue(CompletableFuture<T> value) {
-            updateAvailableProperty(value);
-            super.setValue(value);
-        }
-
-        /**
-         * This method does the same as {@link SimpleObjectProperty#get()} but throws a {@link IllegalStateException}
-         * when trying to get its value but there is no requestable value (means it is {@code null}.
-         *
-         * @return The value hold by this property.
-         * @see SimpleObjectProperty#get()
-         */
-        @Override
-        public CompletableFuture<T> get() {
-            CompletableFuture<T> value = super.get();
-            if (value == null) {
-                throw new IllegalStateException("There is no data queried yet.\n"
-                        + "You have to set a connection first before being able to operate on that data.");
-            }
-            return value;
-        }
-
-        /**
-         * Returns the property holding whether the data of the contained {@link Future} object is available.
-         *
-         * @return The property holding whether the data of the contained {@link Future} object is available.
-         */
-        public ReadOnlyBooleanProperty availableProperty() {
-            return available;
-        }
+    @Override
+    protected Optional<Void> calculateResult() {
+        return Optional.empty();
+    }
 
-        /**
-         * Checks whether the data of the contained {@link Future} object is available.
-         *
-         * @return {@code true} only if the data of the contained {@link Future} object is available.
-         */
-        public boolean isAvailable() {
-            return available.get();
-        }
+    /**
+     * Represents a connection to the database which was validated.
+     *
+     * @param connection               The validated connection.
+     * @param memberChangeLogInstalled Whether the change log of member is installed in the database of
+     *                                 {@code connection}.
+     * @since 2u14
+     */
+    public record ValidatedConnection(DBConnection connection, boolean memberChangeLogInstalled) {
     }
 }
@@ -112,7 +112,6 @@ public class Originator {
                 Properties originatorProps = new Properties(DEFAULT_PROPERTIES);
                 originatorProps.load(reader);
                 Arrays.stream(getClass().getDeclaredFields())
-                        .parallel()
                         .filter(f -> !"originatorFile".equalsIgnoreCase(f.getName()))
                         .forEach(f -> {
                             try {
@@ -147,7 +146,6 @@ public class Originator {
     public void saveOriginator() {
         Properties originatorProps = new Properties(DEFAULT_PROPERTIES);
         Arrays.stream(getClass().getDeclaredFields())
-                .parallel()
                 .filter(f -> !f.getName().equalsIgnoreCase("default_properties"))
                 .filter(f -> !f.getName().equalsIgnoreCase("originatorFile"))
                 .forEach(f -> {
@@ -20,7 +20,9 @@ import bayern.steinbrecher.dbConnector.query.QueryOperator;
 import bayern.steinbrecher.dbConnector.scheme.TableScheme;
 import bayern.steinbrecher.green2.sharedBasis.data.EnvironmentHandler;
 import bayern.steinbrecher.green2.sharedBasis.data.Tables;
+import bayern.steinbrecher.green2.sharedBasis.diagnostics.DbQueryTracer;
 import bayern.steinbrecher.green2.sharedBasis.people.Member;
+import bayern.steinbrecher.green2.sharedBasis.utility.MetricsRegistry;
 import bayern.steinbrecher.javaUtility.BindingUtility;
 import bayern.steinbrecher.wizard.WizardPageController;
 import com.google.common.collect.BiMap;
@@ -68,6 +70,10 @@ import java.util.stream.Collectors;
 public class QueryController extends WizardPageController<Optional<List<List<String>>>> {
 
     private static final Logger LOGGER = Logger.getLogger(QueryController.class.getName());
+    /**
+     * Measures generating and executing the search queries of the user.
+     */
+    private static final MetricsRegistry.Timer SEARCH_TIMER = MetricsRegistry.timer("query.search");
     @FXML
     private GridPane queryInput;
     @FXML
@@ -188,6 +194,7 @@ public class QueryController extends WizardPageController<Optional<List<List<Str
 
     private synchronized void updateLastQueryResult() throws GenerationFailedException, QueryFailedException {
         if (!isLastQueryUpToDate) {
+            long start = System.nanoTime();
             List<QueryCondition<?>> conditions = conditionFields.stream()
                     .map(CheckedConditionField::generateCondition)
                     .filter(Optional::isPresent)
@@ -201,8 +208,9 @@ public class QueryController extends WizardPageController<Optional<List<List<Str
                     .getQueryGenerator()
                     .generateSearchQueryStatement(
                             getDbConnection().getDatabaseName(), memberTable, columns, conditions);
-            lastQueryResult.set(Optional.of(getDbConnection().execQuery(searchQuery)));
+            lastQueryResult.set(Optional.of(DbQueryTracer.execQuery(getDbConnection(), searchQuery)));
             isLastQueryUpToDate = true;
+            SEARCH_TIMER.recordSince(start);
         }
     }
 
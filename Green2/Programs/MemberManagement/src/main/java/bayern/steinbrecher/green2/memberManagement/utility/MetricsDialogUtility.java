@@ -0,0 +1,136 @@
+package bayern.steinbrecher.green2.memberManagement.utility;
+
+import bayern.steinbrecher.green2.sharedBasis.data.EnvironmentHandler;
+import bayern.steinbrecher.green2.sharedBasis.utility.ExecutorUtility;
+import bayern.steinbrecher.green2.sharedBasis.utility.FxUpdateScheduler;
+import bayern.steinbrecher.green2.sharedBasis.utility.IOStreamUtility;
+import bayern.steinbrecher.green2.sharedBasis.utility.MetricsRegistry;
+import bayern.steinbrecher.green2.sharedBasis.utility.MetricsRegistry.MetricSnapshot;
+import bayern.steinbrecher.javaUtility.DialogCreationException;
+import bayern.steinbrecher.javaUtility.DialogFactory;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+import javafx.stage.WindowEvent;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Shows the metrics of the {@link MetricsRegistry} in a window. The shown values are refreshed every second as long as
+ * the window is showing. They can be exported as CSV.
+ *
+ * @author Stefan Huber
+ * @since 2u14
+ */
+public final class MetricsDialogUtility {
+
+    private static final Logger LOGGER = Logger.getLogger(MetricsDialogUtility.class.getName());
+    private static final long REFRESH_INTERVAL = 1; // [s]
+    private static final double PREF_WIDTH = 900;
+    private static final double PREF_HEIGHT = 500;
+
+    private MetricsDialogUtility() {
+        throw new UnsupportedOperationException("Construction of an object is not allowed.");
+    }
+
+    private static TableColumn<MetricSnapshot, String> createColumn(
+            String text, Function<MetricSnapshot, String> valueExtractor) {
+        TableColumn<MetricSnapshot, String> column = new TableColumn<>(text);
+        column.setCellValueFactory(features -> new ReadOnlyStringWrapper(valueExtractor.apply(features.getValue())));
+        return column;
+    }
+
+    private static TableView<MetricSnapshot> createMetricsTable(ObservableList<MetricSnapshot> metrics) {
+        TableView<MetricSnapshot> metricsTable = new TableView<>(metrics);
+        String millis = " [ms]";
+        metricsTable.getColumns()
+                .addAll(List.of(
+                        createColumn(EnvironmentHandler.getResourceValue("metricName"), MetricSnapshot::name),
+                        createColumn(EnvironmentHandler.getResourceValue("metricType"), MetricSnapshot::type),
+                        createColumn(EnvironmentHandler.getResourceValue("metricCount"),
+                                snapshot -> String.valueOf(snapshot.count())),
+                        createColumn(EnvironmentHandler.getResourceValue("metricValue"),
+                                snapshot -> MetricSnapshot.format(snapshot.value())),
+                        createColumn(EnvironmentHandler.getResourceValue("metricMean") + millis,
+                                snapshot -> MetricSnapshot.format(snapshot.mean())),
+                        createColumn("p50" + millis, snapshot -> MetricSnapshot.format(snapshot.p50())),
+                        createColumn("p90" + millis, snapshot -> MetricSnapshot.format(snapshot.p90())),
+                        createColumn("p99" + millis, snapshot -> MetricSnapshot.format(snapshot.p99())),
+                        createColumn(EnvironmentHandler.getResourceValue("metricMax") + millis,
+                                snapshot -> MetricSnapshot.format(snapshot.max()))
+                ));
+        metricsTable.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+        VBox.setVgrow(metricsTable, Priority.ALWAYS);
+        return metricsTable;
+    }
+
+    private static void showExportFailed(IOException cause) {
+        String exportFailed = EnvironmentHandler.getResourceValue("exportFailed");
+        try {
+            Alert alert = EnvironmentHandler.DIALOG_FACTORY.createStacktraceAlert(cause, exportFailed, exportFailed);
+            DialogFactory.showAndWait(alert);
+        } catch (DialogCreationException ex) {
+            LOGGER.log(Level.WARNING, "Could not inform the user graphically about the failed export", ex);
+        }
+    }
+
+    private static void exportMetrics(Stage owner, List<MetricSnapshot> metrics) {
+        Optional<File> path = EnvironmentHandler.askForSavePath(owner, "metrics", "csv");
+        if (path.isPresent()) {
+            try {
+                IOStreamUtility.printContent(MetricsRegistry.toCsv(metrics), path.get(), true);
+            } catch (IOException ex) {
+                LOGGER.log(Level.SEVERE, "Could not export the metrics", ex);
+                showExportFailed(ex);
+            }
+        }
+    }
+
+    /**
+     * Opens a window showing the current metrics. The metrics are snapshotted in the background. Hence the FX
+     * application thread is not blocked by any gauge.
+     *
+     * @param owner The owner of the window.
+     */
+    public static void showMetricsDialog(Stage owner) {
+        ObservableList<MetricSnapshot> metrics = FXCollections.observableArrayList();
+        Stage metricsStage = EnvironmentHandler.STAGE_FACTORY.create();
+        metricsStage.initOwner(owner);
+        metricsStage.initStyle(StageStyle.UTILITY);
+        metricsStage.setTitle(EnvironmentHandler.getResourceValue("diagnostics"));
+
+        Button exportButton = new Button(EnvironmentHandler.getResourceValue("export"));
+        // NOTE Exports the shown values which may differ from the current ones by up to one refresh interval
+        exportButton.setOnAction(aevt -> exportMetrics(metricsStage, List.copyOf(metrics)));
+        VBox content = new VBox(createMetricsTable(metrics), exportButton);
+        content.setSpacing(5);
+        content.setPadding(new Insets(5));
+        content.setPrefSize(PREF_WIDTH, PREF_HEIGHT);
+        metricsStage.getScene()
+                .setRoot(content);
+
+        ScheduledFuture<?> refresher = ExecutorUtility.SCHEDULED_EXECUTOR.scheduleWithFixedDelay(() -> {
+            List<MetricSnapshot> snapshot = MetricsRegistry.snapshot();
+            FxUpdateScheduler.schedule(metrics, () -> metrics.setAll(snapshot));
+        }, 0, REFRESH_INTERVAL, TimeUnit.SECONDS);
+        metricsStage.addEventHandler(WindowEvent.WINDOW_HIDDEN, wevt -> refresher.cancel(false));
+        metricsStage.show();
+    }
+}
@@ -0,0 +1,192 @@
+package bayern.steinbrecher.green2.sharedBasis.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Represents a compiled birthday expression like {@code =50,=60,=70,=75,>=80}. The expression is parsed once and
+ * evaluated for every age up to the greatest bound it mentions but at most up to {@link #MAX_AGE}. Afterwards checking
+ * whether a person of a certain age gets birthday notifications is a single array lookup.
+ *
+ * @author Stefan Huber
+ * @see ProfileSettings#BIRTHDAY_EXPRESSION
+ * @since 2u14
+ */
+public final class BirthdayRule implements IntFunction<Boolean> {
+
+    private static final Logger LOGGER = Logger.getLogger(BirthdayRule.class.getName());
+    /**
+     * A rule which notifies nobody.
+     */
+    public static final BirthdayRule NONE = new BirthdayRule(new boolean[]{false});
+    /**
+     * The greatest age which is evaluated individually. All greater ages are treated like {@code MAX_AGE + 1} since no
+     * person is expected to reach them. It limits the size of {@link #notifiedAges} independent of the bounds of an
+     * expression.
+     */
+    public static final int MAX_AGE = 150;
+    /**
+     * Contains for every age from 0 to the greatest bound of the expression (at most {@link #MAX_AGE}) whether it gets
+     * notified. All ages greater than that behave like the last entry. All negative ages behave like the first entry
+     * since all bounds are positive.
+     */
+    private final boolean[] notifiedAges;
+
+    private BirthdayRule(boolean[] notifiedAges) {
+        this.notifiedAges = notifiedAges;
+    }
+
+    /**
+     * Compiles the given birthday expression. Parts which can not be parsed are skipped.
+     *
+     * @param birthdayExpression The expression to compile.
+     * @return The compiled rule.
+     * @see ProfileSettings#BIRTHDAY_FUNCTION_PATTERN
+     */
+    public static BirthdayRule compile(String birthdayExpression) {
+        List<IntFunction<Boolean>> parts = new ArrayList<>();
+        int maxBound = 0;
+        for (String rawPart : birthdayExpression.split(",")) {
+            String part = rawPart.trim();
+            if (!part.isEmpty()) {
+                try {
+                    int operatorLength = part.length() > 1 && part.charAt(1) == '=' ? 2 : 1;
+                    int bound = Integer.parseInt(part.substring(operatorLength).trim());
+                    IntFunction<Boolean> functionPart;
+                    switch (part.substring(0, operatorLength)) {
+                        case ">=":
+                            functionPart = age -> age >= bound;
+                            break;
+                        case ">":
+                            functionPart = age -> age > bound;
+                            break;
+                        case "<=":
+                            functionPart = age -> age <= bound;
+                            break;
+                        case "<":
+                            functionPart = age -> age < bound;
+                            break;
+                        case "=":
+                            functionPart = age -> age == bound;
+                            break;
+                        default:
+                            functionPart = null;
+                            LOGGER.log(Level.WARNING, "{0} gets skipped", part);
+                            break;
+                    }
+                    if (functionPart != null) {
+                        parts.add(functionPart);
+                        maxBound = Math.max(maxBound, bound);
+                    }
+                } catch (NumberFormatException ex) {
+                    LOGGER.log(Level.WARNING, "{0} gets skipped", part);
+                }
+            }
+        }
+
+        BirthdayRule rule;
+        if (parts.isEmpty()) {
+            rule = NONE;
+        } else {
+            // NOTE The last entry represents all ages greater than any evaluated bound
+            boolean[] notifiedAges = new boolean[Math.min(maxBound, MAX_AGE) + 2];
+            for (int age = 0; age < notifiedAges.length; age++) {
+                for (IntFunction<Boolean> functionPart : parts) {
+                    if (functionPart.apply(age)) {
+                        notifiedAges[age] = true;
+                        break;
+                    }
+                }
+            }
+            rule = new BirthdayRule(notifiedAges);
+        }
+        return rule;
+    }
+
+    /**
+     * Checks whether a person having the given age gets notified.
+     *
+     * @param age The age to check.
+     * @return {@code true} only if a person having the given age gets notified.
+     */
+    public boolean isNotified(int age) {
+        int index = Math.min(Math.max(age, 0), notifiedAges.length - 1);
+        return notifiedAges[index];
+    }
+
+    /**
+     * Returns the ranges of ages which get notified. This allows to select the notified persons based on their
+     * birthday, e.g. by a database query, instead of checking each person.
+     *
+     * @return The disjoint ranges of notified ages in ascending order.
+     * @since 2u14
+     */
+    public List<AgeRange> getNotifiedAgeRanges() {
+        List<AgeRange> ranges = new ArrayList<>();
+        int rangeStart = -1;
+        for (int age = 0; age < notifiedAges.length; age++) {
+            if (notifiedAges[age]) {
+                if (rangeStart < 0) {
+                    rangeStart = age;
+                }
+            } else if (rangeStart >= 0) {
+                ranges.add(new AgeRange(rangeStart, age - 1));
+                rangeStart = -1;
+            }
+        }
+        if (rangeStart >= 0) {
+            // NOTE The last entry represents all ages greater than any bound
+            ranges.add(new AgeRange(rangeStart, AgeRange.UNBOUNDED));
+        }
+        return ranges;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see #isNotified(int)
+     */
+    @Override
+    public Boolean apply(int age) {
+        return isNotified(age);
+    }
+
+    @Override
+    public boolean equals(Object comp) {
+        return comp == this
+                || comp instanceof BirthdayRule && Arrays.equals(notifiedAges, ((BirthdayRule) comp).notifiedAges);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(notifiedAges);
+    }
+
+    /**
+     * Represents a range of ages.
+     *
+     * @param minAge The lowest age of the range (inclusive). An age of 0 includes all lower ages as well.
+     * @param maxAge The highest age of the range (inclusive) or {@link #UNBOUNDED}.
+     * @since 2u14
+     */
+    public record AgeRange(int minAge, int maxAge) {
+
+        /**
+         * The value of {@link #maxAge()} for ranges without an upper bound.
+         */
+        public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+        /**
+         * Checks whether this range has an upper bound.
+         *
+         * @return {@code true} only if this range has an upper bound.
+         */
+        public boolean isBounded() {
+            return maxAge != UNBOUNDED;
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package bayern.steinbrecher.green2.sharedBasis.data;
 
+import bayern.steinbrecher.green2.sharedBasis.diagnostics.StartupTracer;
+import bayern.steinbrecher.green2.sharedBasis.utility.ExecutorUtility;
 import bayern.steinbrecher.green2.sharedBasis.utility.IOStreamUtility;
 import bayern.steinbrecher.green2.sharedBasis.utility.PathUtility;
 import bayern.steinbrecher.javaUtility.DialogFactory;
 import bayern.steinbrecher.javaUtility.StageFactory;
+import javafx.application.Platform;
 import javafx.beans.property.Property;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.scene.image.Image;
@@ -62,7 +65,8 @@ public final class EnvironmentHandler {
     private static final String LOGO_PATH = EnvironmentHandler.class
             .getResource("/bayern/steinbrecher/green2/sharedBasis/icons/logo.png")
             .toExternalForm();
-    private static final Image LOGO = new Image(LOGO_PATH);
+    // NOTE Decoding the logo in the background does not delay creating the first stage
+    private static final Image LOGO = new Image(LOGO_PATH, true);
     // FIXME Add default icon to stage factory
     public static final StageFactory STAGE_FACTORY
             = new StageFactory(Modality.APPLICATION_MODAL, StageStyle.DECORATED, LOGO,
@@ -82,7 +86,15 @@ public final class EnvironmentHandler {
         throw new UnsupportedOperationException("Construction of an object not allowed.");
     }
 
-    private static boolean isLoaded() {
+    /**
+     * Checks whether any profile is loaded. This may be the case when starting a program since a previous program
+     * within the same JVM loaded it already.
+     *
+     * @return {@code true} only if any profile is loaded.
+     * @see bayern.steinbrecher.green2.sharedBasis.utility.ProgramHost
+     * @since 2u14
+     */
+    public static boolean isLoaded() {
         return loadedProfile.getValue() != null;
     }
 
@@ -148,7 +160,9 @@ public final class EnvironmentHandler {
      * @return The loaded profile.
      */
     public static Profile loadProfile(String profileName, boolean newProfile) {
-        return loadProfile(new Profile(profileName, newProfile));
+        try (StartupTracer.Phase readProfile = StartupTracer.begin("Read profile")) {
+            return loadProfile(new Profile(profileName, newProfile));
+        }
     }
 
     /**
@@ -195,6 +209,27 @@ public final class EnvironmentHandler {
         return chosenFile;
     }
 
+    /**
+     * Opens a dialog asking the user to choose a directory where to save multiple files based on the directory selected
+     * last time which is updated on success.
+     *
+     * @param owner The owner of the dialog.
+     * @return The chosen directory or {@link Optional#empty()} if no directory was chosen.
+     * @see IOStreamUtility#askForSaveDirectory(javafx.stage.Stage, java.lang.String)
+     * @see #askForSavePath(javafx.stage.Stage, java.lang.String, java.lang.String, java.lang.Object...)
+     * @since 2u14
+     */
+    public static Optional<File> askForSaveDirectory(Stage owner) {
+        File initialDirectory = new File(PREFERENCES_USER_NODE.get(LAST_SAVE_PATH_KEY, DEFAULT_SAVE_PATH));
+        if (!initialDirectory.exists()) {
+            initialDirectory = new File(DEFAULT_SAVE_PATH);
+        }
+
+        Optional<File> chosenDirectory = IOStreamUtility.askForSaveDirectory(owner, initialDirectory.getAbsolutePath());
+        chosenDirectory.ifPresent(directory -> PREFERENCES_USER_NODE.put(LAST_SAVE_PATH_KEY, directory.getPath()));
+        return chosenDirectory;
+    }
+
     /**
      * Contains enums representing pictures and icons used in Green2.
      */
@@ -282,22 +317,52 @@ public final class EnvironmentHandler {
          */
         public static final int SMALL_SIZE = 15;
         private static final String BASIC_ICON_DIR_PATH = "/bayern/steinbrecher/green2/sharedBasis/icons/";
-        private final Image image;
+        private final String filename;
+        private final int size;
+        /**
+         * The decoded image. It is {@code null} as long as the image is not requested.
+         */
+        private volatile Image image;
 
         ImageSet(String filename, boolean big) {
-            int size = big ? BIG_SIZE : SMALL_SIZE;
-            image = new Image(
-                    getClass().getResource(BASIC_ICON_DIR_PATH + filename).toExternalForm(),
-                    size, size, true, true);
+            this.filename = filename;
+            size = big ? BIG_SIZE : SMALL_SIZE;
         }
 
         /**
-         * Returns the image this enum represents.
+         * Decodes all images which are not requested yet. This method returns immediately. The images are decoded by
+         * {@link ExecutorUtility#IO_EXECUTOR} as soon as the FX application thread processed all pending events. Hence
+         * calling this method before showing the first window of a program does not delay showing it.
+         *
+         * @since 2u14
+         */
+        public static void prefetch() {
+            Platform.runLater(() -> ExecutorUtility.IO_EXECUTOR.execute(() -> {
+                for (ImageSet imageSet : values()) {
+                    imageSet.get();
+                }
+            }));
+        }
+
+        /**
+         * Returns the image this enum represents. The image is decoded when it is requested the first time.
          *
          * @return The image this enum represents.
          */
         public Image get() {
-            return image;
+            Image decodedImage = image;
+            if (decodedImage == null) {
+                synchronized (this) {
+                    decodedImage = image;
+                    if (decodedImage == null) {
+                        decodedImage = new Image(
+                                getClass().getResource(BASIC_ICON_DIR_PATH + filename).toExternalForm(),
+                                size, size, true, true);
+                        image = decodedImage;
+                    }
+                }
+            }
+            return decodedImage;
         }
 
         /**
@@ -13,7 +13,6 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Scanner;
-import java.util.Set;
 import java.util.function.IntFunction;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -38,6 +37,7 @@ public class Profile {
     private static final Logger LOGGER = Logger.getLogger(Profile.class.getName());
     private static final String CONFIGFILE_FORMAT = ".conf";
     private static final String ORIGINATORFILE_FORMAT = ".properties";
+    private static final String SNAPSHOTFILE_FORMAT = ".snapshot";
     /**
      * The symbol used to separate the config key on the left side and the value on the right side of profile files.
      */
@@ -48,7 +48,7 @@ public class Profile {
     //TODO Think about how to force equallity of the two question marks of the map
     private final ConfigurationsMap configurations = new ConfigurationsMap(); //NOPMD - It is accessed over #get(...).
     /**
-     * {@code true} only if all allowed configurations are specified.
+     * {@code true} only if all configurations which are not optional are specified.
      */
     private boolean allConfigurationsSet;
     /**
@@ -78,6 +78,14 @@ public class Profile {
      * The file to the configurations for Green2.
      */
     private final Property<File> configFile = new SimpleObjectProperty<>();
+    /**
+     * The path to the file containing the local snapshot of the data. (May not exist, yet)
+     */
+    private final StringExpression snapshotPath = new SimpleStringProperty(EnvironmentHandler.APP_DATA_PATH)
+            .concat("/")
+            .concat(profileName)
+            .concat(SNAPSHOTFILE_FORMAT);
+    private final Property<File> snapshotFile = new SimpleObjectProperty<>();
     private boolean deleted;
 
     /**
@@ -91,7 +99,9 @@ public class Profile {
         this.newProfile = newProfile;
 
         configurations.addListener((InvalidationListener) listener -> {
-            allConfigurationsSet = configurations.size() >= ProfileSettings.values().length;
+            allConfigurationsSet = Arrays.stream(ProfileSettings.values())
+                    .filter(setting -> !setting.isOptional())
+                    .allMatch(configurations::containsKey);
         });
         configFile.addListener((obs, oldVal, newVal) -> {
             if (!this.newProfile) {
@@ -102,6 +112,7 @@ public class Profile {
         });
         configFilePath.addListener((obs, oldVal, newVal) -> configFile.setValue(new File(newVal)));
         originatorInfoPath.addListener((obs, oldVal, newVal) -> originatorInfoFile.setValue(new File(newVal)));
+        snapshotPath.addListener((obs, oldVal, newVal) -> snapshotFile.setValue(new File(newVal)));
 
         this.profileName.setValue(profileName);
 
@@ -154,50 +165,8 @@ public class Profile {
         return FXCollections.observableMap(configurations);
     }
 
-    @SuppressWarnings("PMD.AvoidLiteralsInIfCondition")
     private void readAgeFunction(String birthdayExpression) {
-        Set<IntFunction<Boolean>> ageFunctionParts = Arrays.stream(birthdayExpression.split(","))
-                .filter(s -> !s.isEmpty())
-                .map(part -> {
-                    IntFunction<Boolean> functionPart = age -> false;
-                    try {
-                        switch (part.charAt(0)) {
-                            case '>':
-                                if (part.charAt(1) == '=') {
-                                    functionPart = age -> age >= Integer.parseInt(part.substring(2));
-                                } else {
-                                    functionPart = age -> age > Integer.parseInt(part.substring(1));
-                                }
-                                break;
-                            case '<':
-                                if (part.charAt(1) == '=') {
-                                    functionPart = age -> age <= Integer.parseInt(part.substring(2));
-                                } else {
-                                    functionPart = age -> age < Integer.parseInt(part.substring(1));
-                                }
-                                break;
-                            case '=':
-                                functionPart = age -> age == Integer.parseInt(part.substring(1));
-                                break;
-                            default:
-                                LOGGER.log(Level.WARNING, "{0} gets skipped", part);
-                                break;
-                        }
-                    } catch (NumberFormatException ex) {
-                        LOGGER.log(Level.WARNING, "{0} gets skipped", part);
-                    }
-                    return functionPart;
-                })
-                .collect(Collectors.toSet());
-
-        IntFunction<Boolean> ageFunction;
-        if (ageFunctionParts.isEmpty()) {
-            ageFunction = age -> false;
-        } else {
-            ageFunction = age -> ageFunctionParts.parallelStream()
-                    .anyMatch(intFunc -> intFunc.apply(age));
-        }
-        this.ageFunction.set(ageFunction);
+        this.ageFunction.set(BirthdayRule.compile(birthdayExpression));
     }
 
     private synchronized void checkDeleted() {
@@ -221,6 +190,7 @@ public class Profile {
         newProfile = false;
 
         String out = Arrays.stream(ProfileSettings.values())
+                .filter(configurations::containsKey)
                 .map(this::generateLine)
                 .collect(Collectors.joining("\n"));
         try {
@@ -265,6 +235,7 @@ public class Profile {
             } else {
                 throw new ProfileRenamingException("Profile couldn't be renamed.");
             }
+            deleteSnapshotFile();
 
             profileName.set(newName);
         }
@@ -282,12 +253,24 @@ public class Profile {
                 LOGGER.log(Level.WARNING, "Even the config file of the profile was deleted, the originator info file "
                         + "could not be deleted. It may interfere with new profiles having exactly this name.");
             }
+            deleteSnapshotFile();
             deleted = true;
         } else {
             throw new IOException("The profile could not be deleted.");
         }
     }
 
+    /**
+     * Deletes the local snapshot of the data if there is any. Since the snapshot can be recreated from the database
+     * failing to delete it is only logged.
+     */
+    private void deleteSnapshotFile() {
+        File snapshotFileValue = snapshotFile.getValue();
+        if (snapshotFileValue.exists() && !snapshotFileValue.delete()) {
+            LOGGER.log(Level.WARNING, "The local snapshot of the profile could not be deleted.");
+        }
+    }
+
     /**
      * Returns a {@link List} of all currently existing profiles.
      *
@@ -372,9 +355,10 @@ public class Profile {
     }
 
     /**
-     * Check whether all configurations are set.
+     * Check whether all configurations are set. Optional configurations are not required to be set.
      *
      * @return {@code true} only if all configurations are set.
+     * @see ProfileSettings#isOptional()
      */
     public boolean isAllConfigurationsSet() {
         checkDeleted();
@@ -391,7 +375,8 @@ public class Profile {
     }
 
     /**
-     * Returns the function for calculating whether a person of a certain age has to be notified.
+     * Returns the function for calculating whether a person of a certain age has to be notified. The function is the
+     * {@link BirthdayRule} compiled from {@link ProfileSettings#BIRTHDAY_EXPRESSION}.
      *
      * @return The function for calculating whether a person of a certain age has to be notified.
      */
@@ -421,6 +406,18 @@ public class Profile {
         return originatorInfoFile.getValue();
     }
 
+    /**
+     * Returns the file containing the local snapshot of the data. NOTE: It is not guaranteed that this file exists.
+     *
+     * @return The file containing the local snapshot of the data.
+     * @see ProfileSettings#KEEP_OFFLINE_SNAPSHOT
+     * @since 2u14
+     */
+    public File getSnapshotFile() {
+        checkDeleted();
+        return snapshotFile.getValue();
+    }
+
     /**
      * Returns the name of the loaded profile if any.
      *
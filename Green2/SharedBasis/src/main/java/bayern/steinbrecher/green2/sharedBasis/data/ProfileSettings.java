@@ -70,6 +70,31 @@ public abstract class /*enum*/ ProfileSettings<T> {
      */
     public static final ProfileSettings<Boolean> ACTIVATE_BIRTHDAY_FEATURES = new BooleanSetting();
     public static final ProfileSettings<Boolean> USE_SSL_IF_NO_SSH = new BooleanSetting();
+    /**
+     * The number of seconds between two checks whether the data in the database changed. If it changed the data is
+     * refreshed in the background. A value of 0 disables the background refresh. This setting is optional.
+     */
+    public static final ProfileSettings<Integer> REFRESH_INTERVAL_SECONDS = new RefreshIntervalSetting();
+    /**
+     * Indicates whether changes of member are logged by database triggers. If so only the changed member are queried
+     * when refreshing data in the background. This setting is optional. Only MySQL is supported.
+     */
+    public static final ProfileSettings<Boolean> USE_MEMBER_CHANGE_LOG = new OptionalBooleanSetting();
+    /**
+     * Indicates whether missing indexes supporting the queries Green2 issues are created when connecting to the
+     * database. This setting is optional. Only MySQL is supported.
+     */
+    public static final ProfileSettings<Boolean> CREATE_SUPPORTING_INDEXES = new OptionalBooleanSetting();
+    /**
+     * Indicates whether an encrypted snapshot of the data is kept locally. It allows to work with the data offline if
+     * the database is not reachable. This setting is optional.
+     */
+    public static final ProfileSettings<Boolean> KEEP_OFFLINE_SNAPSHOT = new OptionalBooleanSetting();
+    /**
+     * Indicates whether a JFR recording containing e.g. the queries and exports is written while the member management
+     * is running. This setting is optional.
+     */
+    public static final ProfileSettings<Boolean> RECORD_FLIGHT_DATA = new OptionalBooleanSetting();
 
     /**
      * Contains all values like an enum. NOTE: It will be removed when generic enums are added to Java.
@@ -156,6 +181,16 @@ public abstract class /*enum*/ ProfileSettings<T> {
         return value != null;
     }
 
+    /**
+     * Checks whether a profile may omit this setting. Profiles omitting an optional setting are still considered
+     * complete.
+     *
+     * @return {@code true} only if a profile may omit this setting.
+     */
+    public boolean isOptional() {
+        return false;
+    }
+
     /**
      * Parses the given value to an object of the type represented by this {@link ProfileSettings}. It is not checked
      * whether the result is a valid setting. NOTE: It can be assumed that the argument is never {@code null} since
@@ -234,6 +269,22 @@ public abstract class /*enum*/ ProfileSettings<T> {
         }
     }
 
+    /**
+     * An optional setting holding a non negative {@link Integer} representing an interval in seconds.
+     */
+    private static class RefreshIntervalSetting extends IntegerSetting {
+
+        @Override
+        public boolean isValid(Integer value) {
+            return value != null && value >= 0;
+        }
+
+        @Override
+        public boolean isOptional() {
+            return true;
+        }
+    }
+
     /**
      * A setting holding a {@link Boolean}.
      */
@@ -245,6 +296,17 @@ public abstract class /*enum*/ ProfileSettings<T> {
         }
     }
 
+    /**
+     * An optional setting holding a {@link Boolean}.
+     */
+    private static class OptionalBooleanSetting extends BooleanSetting {
+
+        @Override
+        public boolean isOptional() {
+            return true;
+        }
+    }
+
     /**
      * A setting holding a {@link String} representing a birthday function. Such a function is used to determine whether
      * a person of certain age gets congratulations.
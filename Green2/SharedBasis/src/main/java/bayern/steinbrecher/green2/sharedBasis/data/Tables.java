@@ -140,6 +140,46 @@ public final class Tables {
 
     public static Collection<TableScheme<?, ?>> SCHEMES = List.of(MEMBER, NICKNAMES);
 
+    /**
+     * The optional change log of {@link #MEMBER}. Every insertion, update or deletion of a member is appended to it.
+     * The changes are numbered by an {@code AUTO_INCREMENT} sequence number. Since a scheme can not declare it the
+     * table is created by the change log itself. It is not contained in {@link #SCHEMES} since it is only created and
+     * maintained if a profile activates it.
+     *
+     * @see ProfileSettings#USE_MEMBER_CHANGE_LOG
+     */
+    public static final TableScheme<List<MemberChange>, MemberChange> MEMBER_CHANGES = new TableScheme<>(
+            "MitgliederAenderungsprotokoll",
+            List.of(
+                    new SimpleColumnPattern<>("Aenderung",
+                            ColumnParser.INTEGER_COLUMN_PARSER,
+                            (mc, s) -> new MemberChange(mc.membershipnumber(), s, mc.deleted()),
+                            MemberChange::sequence,
+                            Optional.empty(), true, false),
+                    new SimpleColumnPattern<>("Mitgliedsnummer",
+                            ColumnParser.INTEGER_COLUMN_PARSER,
+                            (mc, n) -> new MemberChange(n, mc.sequence(), mc.deleted()),
+                            MemberChange::membershipnumber),
+                    new SimpleColumnPattern<>("Geloescht",
+                            ColumnParser.BOOLEAN_COLUMN_PARSER,
+                            (mc, d) -> new MemberChange(mc.membershipnumber(), mc.sequence(), d),
+                            MemberChange::deleted)
+            ),
+            List.of(),
+            () -> new MemberChange(null, null, false),
+            mcs -> mcs.collect(Collectors.toList())
+    );
+
+    /**
+     * Represents a logged change of a member.
+     *
+     * @param membershipnumber The membership number of the changed member.
+     * @param sequence         The sequence number of the change.
+     * @param deleted          {@code true} only if the member was deleted or got another membership number.
+     */
+    public record MemberChange(Integer membershipnumber, Integer sequence, Boolean deleted) {
+    }
+
     /**
      * This class encapsulates the creation of a {@link Member} via {@link MemberBuilder} for the following reasons:
      * <ol>
@@ -157,7 +197,10 @@ public final class Tables {
         private final AddressBuilder address = AddressBuilder.builder();
         private final PersonBuilder person = PersonBuilder.builder();
 
-        private MemberTableEntryBuilder() {
+        /**
+         * Creates a builder for a {@link Member} whose values are not set yet.
+         */
+        public MemberTableEntryBuilder() {
         }
 
         /**
@@ -0,0 +1,37 @@
+package bayern.steinbrecher.green2.sharedBasis.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Represents a query sent to the database in a JFR recording. The duration of the event is the latency of the query
+ * including parsing its result.
+ *
+ * @author Stefan Huber
+ * @see DbQueryTracer
+ * @since 2u14
+ */
+@Name("bayern.steinbrecher.green2.DbQuery")
+@Label("Database Query")
+@Category({"Green2", "Database"})
+@Description("A query sent to the database")
+public class DbQueryEvent extends Event {
+
+    @Label("Query Shape")
+    @Description("The query without literals or the name of the table whose whole content is requested")
+    String shape;
+    @Label("Rows")
+    long rows;
+    @Label("Result Characters")
+    @Description("The total number of characters of all cells of the result if it was returned as plain text")
+    long resultCharacters;
+    @Label("Failed")
+    boolean failed;
+
+    DbQueryEvent() {
+        super();
+    }
+}
@@ -0,0 +1,140 @@
+package bayern.steinbrecher.green2.sharedBasis.diagnostics;
+
+import bayern.steinbrecher.dbConnector.DBConnection;
+import bayern.steinbrecher.dbConnector.query.GenerationFailedException;
+import bayern.steinbrecher.dbConnector.query.QueryFailedException;
+import bayern.steinbrecher.dbConnector.scheme.TableScheme;
+import bayern.steinbrecher.green2.sharedBasis.utility.MetricsRegistry;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Sends queries to the database and commits a {@link DbQueryEvent} for each of them to JFR recordings. If no recording
+ * is running only the cost of checking for it is added to a query. Recordings contain only the shape of a query. All
+ * literals are replaced by a placeholder. Hence neither member data nor credentials end up in recordings. Independent
+ * of any recording the latency of each query is added to the timer {@code db.query} of the {@link MetricsRegistry}.
+ *
+ * @author Stefan Huber
+ * @since 2u14
+ */
+public final class DbQueryTracer {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+    private static final String LITERAL_PLACEHOLDER = "?";
+    /**
+     * The maximum number of characters of a shape. Longer shapes are truncated.
+     */
+    private static final int MAX_SHAPE_LENGTH = 500;
+    private static final MetricsRegistry.Timer QUERY_TIMER = MetricsRegistry.timer("db.query");
+    private static final MetricsRegistry.Counter QUERIED_ROWS = MetricsRegistry.counter("db.query.rows");
+    private static final MetricsRegistry.Counter FAILED_QUERIES = MetricsRegistry.counter("db.query.failed");
+
+    private DbQueryTracer() {
+        throw new UnsupportedOperationException("Construction of an object is not allowed.");
+    }
+
+    /**
+     * Returns the given query without any literals and without redundant whitespaces.
+     *
+     * @param query The query to get the shape for.
+     * @return The shape of the given query.
+     */
+    public static String getShape(String query) {
+        String shape = STRING_LITERAL.matcher(query)
+                .replaceAll(LITERAL_PLACEHOLDER);
+        shape = NUMBER_LITERAL.matcher(shape)
+                .replaceAll(LITERAL_PLACEHOLDER);
+        shape = WHITESPACES.matcher(shape)
+                .replaceAll(" ")
+                .strip();
+        return shape.length() > MAX_SHAPE_LENGTH ? shape.substring(0, MAX_SHAPE_LENGTH) + "..." : shape;
+    }
+
+    private static void recordMetrics(long start, boolean succeeded, int rows) {
+        QUERY_TIMER.recordSince(start);
+        if (succeeded) {
+            QUERIED_ROWS.add(rows);
+        } else {
+            FAILED_QUERIES.increment();
+        }
+    }
+
+    /**
+     * Executes the given query like {@link DBConnection#execQuery(String)}.
+     *
+     * @param connection The connection to execute the query on.
+     * @param query      The query to execute.
+     * @return The result of the query.
+     * @throws QueryFailedException Thrown if the query failed.
+     */
+    public static List<List<String>> execQuery(DBConnection connection, String query) throws QueryFailedException {
+        DbQueryEvent event = new DbQueryEvent();
+        event.begin();
+        long start = System.nanoTime();
+        List<List<String>> result = null;
+        try {
+            result = connection.execQuery(query);
+        } finally {
+            event.end();
+            recordMetrics(start, result != null, result == null ? 0 : result.size());
+            if (event.shouldCommit()) {
+                event.shape = getShape(query);
+                event.failed = result == null;
+                if (result != null) {
+                    event.rows = result.size();
+                    event.resultCharacters = result.stream()
+                            .flatMap(List::stream)
+                            .mapToLong(cell -> cell == null ? 0 : cell.length())
+                            .sum();
+                }
+                event.commit();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Queries the whole content of the given table like {@link DBConnection#getTableContent(TableScheme)}.
+     *
+     * @param <T>        The type of the content of the table.
+     * @param connection The connection to query the content with.
+     * @param scheme     The scheme of the table to query.
+     * @return The content of the table.
+     * @throws GenerationFailedException Thrown if the query could not be generated.
+     * @throws QueryFailedException      Thrown if the query failed.
+     */
+    public static <T> T getTableContent(DBConnection connection, TableScheme<T, ?> scheme)
+            throws GenerationFailedException, QueryFailedException {
+        DbQueryEvent event = new DbQueryEvent();
+        event.begin();
+        long start = System.nanoTime();
+        T content = null;
+        boolean succeeded = false;
+        try {
+            content = connection.getTableContent(scheme);
+            succeeded = true;
+        } finally {
+            event.end();
+            int rowCount = 0;
+            if (content instanceof Collection<?> rows) {
+                rowCount = rows.size();
+            } else if (content instanceof Map<?, ?> rows) {
+                rowCount = rows.size();
+            }
+            recordMetrics(start, succeeded, rowCount);
+            if (event.shouldCommit()) {
+                // NOTE The actual query is generated by the connection
+                event.shape = "SELECT * FROM " + scheme.getTableName();
+                event.failed = !succeeded;
+                event.rows = rowCount;
+                event.commit();
+            }
+        }
+        return content;
+    }
+}
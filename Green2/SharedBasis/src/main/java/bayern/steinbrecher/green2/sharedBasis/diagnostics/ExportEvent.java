@@ -0,0 +1,74 @@
+package bayern.steinbrecher.green2.sharedBasis.diagnostics;
+
+import bayern.steinbrecher.green2.sharedBasis.utility.MetricsRegistry;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.io.File;
+import java.util.Locale;
+
+/**
+ * Represents generating and writing an export like a serial letter or a SEPA direct debit in a JFR recording. The
+ * event begins when it is created. Exports which fail are not committed. Independent of any recording finished exports
+ * are added to the timer {@code export.<kind>} and the counter {@code export.<kind>.records} of the
+ * {@link MetricsRegistry}.
+ *
+ * @author Stefan Huber
+ * @since 2u14
+ */
+@Name("bayern.steinbrecher.green2.Export")
+@Label("Export")
+@Category({"Green2", "Export"})
+@Description("Generating and writing an export")
+public class ExportEvent extends Event {
+
+    @Label("Export")
+    String export;
+    @Label("Records")
+    long records;
+    @Label("Size")
+    @DataAmount
+    long size;
+    /**
+     * The value of {@link System#nanoTime()} when the export began. It is no field of the event.
+     */
+    private final transient long start;
+
+    /**
+     * Creates and begins an event for an export.
+     *
+     * @param export The kind of the export, e.g. "SEPA".
+     */
+    public ExportEvent(String export) {
+        super();
+        this.export = export;
+        begin();
+        start = System.nanoTime();
+    }
+
+    /**
+     * Ends the export, commits this event to JFR recordings and records it in the {@link MetricsRegistry}.
+     *
+     * @param records The number of records exported.
+     * @param output  The file the export was written to.
+     */
+    public void finish(long records, File output) {
+        end();
+        long duration = System.nanoTime() - start;
+        String metricName = "export." + export.toLowerCase(Locale.ROOT)
+                .replace(' ', '_');
+        MetricsRegistry.timer(metricName)
+                .record(duration);
+        MetricsRegistry.counter(metricName + ".records")
+                .add(records);
+        if (shouldCommit()) {
+            this.records = records;
+            size = output.length();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package bayern.steinbrecher.green2.sharedBasis.diagnostics;
+
+import bayern.steinbrecher.green2.sharedBasis.data.EnvironmentHandler;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Manages the JFR recording a program starts on demand. It contains the events of the default configuration of the JDK
+ * as well as all events of Green2 like {@link DbQueryEvent}, {@link ExportEvent} and {@link FxStallEvent}. The
+ * recording is written to {@link #RECORDINGS_ROOT} when it is stopped or the JVM exits.
+ *
+ * @author Stefan Huber
+ * @since 2u14
+ */
+public final class FlightRecording {
+
+    private static final Logger LOGGER = Logger.getLogger(FlightRecording.class.getName());
+    /**
+     * The folder containing the recordings of all programs.
+     */
+    public static final Path RECORDINGS_ROOT = Paths.get(EnvironmentHandler.APP_DATA_PATH, "recordings");
+    private static final DateTimeFormatter FILE_NAME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+    /**
+     * The age of the oldest events a recording keeps.
+     */
+    private static final Duration MAX_AGE = Duration.ofHours(2);
+    /**
+     * The recording currently running or {@code null} if there is none.
+     */
+    private static Recording recording;
+
+    private FlightRecording() {
+        throw new UnsupportedOperationException("Construction of an object is not allowed.");
+    }
+
+    /**
+     * Starts a recording if none is running yet and JFR is available.
+     *
+     * @param name The name of the recording. It is used as prefix of the name of the file it is written to.
+     * @return The file the recording is written to. It is {@link Optional#empty()} if no recording could be started.
+     */
+    public static synchronized Optional<Path> start(String name) {
+        Optional<Path> destination = Optional.empty();
+        if (recording == null && FlightRecorder.isAvailable()) {
+            Path recordingFile = RECORDINGS_ROOT.resolve(
+                    String.format("%s_%s.jfr", name, LocalDateTime.now().format(FILE_NAME_FORMATTER)));
+            try {
+                Files.createDirectories(RECORDINGS_ROOT);
+                Recording newRecording = new Recording(Configuration.getConfiguration("default"));
+                newRecording.setName(name);
+                newRecording.setToDisk(true);
+                newRecording.setMaxAge(MAX_AGE);
+                newRecording.setDestination(recordingFile);
+                newRecording.setDumpOnExit(true);
+                newRecording.start();
+                recording = newRecording;
+                destination = Optional.of(recordingFile);
+                LOGGER.log(Level.INFO, "Recording JFR events to {0}", recordingFile);
+            } catch (IOException | ParseException | IllegalStateException | SecurityException ex) {
+                LOGGER.log(Level.WARNING, "Could not start a JFR recording", ex);
+            }
+        }
+        return destination;
+    }
+
+    /**
+     * Stops the running recording and writes it to its file. If no recording is running nothing happens.
+     */
+    public static synchronized void stop() {
+        if (recording != null) {
+            try {
+                recording.stop();
+            } catch (IllegalStateException ex) {
+                LOGGER.log(Level.WARNING, "Could not stop the JFR recording cleanly", ex);
+            }
+            recording.close();
+            recording = null;
+        }
+    }
+}
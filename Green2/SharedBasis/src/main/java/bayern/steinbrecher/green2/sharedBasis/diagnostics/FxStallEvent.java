@@ -0,0 +1,38 @@
+package bayern.steinbrecher.green2.sharedBasis.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Represents a task which blocked the FX application thread in a JFR recording. The event begins when it is created.
+ * Only tasks taking at least as long as the threshold of the event are recorded. The threshold can be changed by the
+ * settings of a recording.
+ *
+ * @author Stefan Huber
+ * @since 2u14
+ */
+@Name("bayern.steinbrecher.green2.FxStall")
+@Label("FX Application Thread Stall")
+@Category({"Green2", "UI"})
+@Description("A task which blocked the FX application thread")
+@Threshold("100 ms")
+public class FxStallEvent extends Event {
+
+    @Label("Task")
+    String task;
+
+    /**
+     * Creates and begins an event for a task executed by the FX application thread.
+     *
+     * @param task A description of the task.
+     */
+    public FxStallEvent(String task) {
+        super();
+        this.task = task;
+        begin();
+    }
+}
@@ -0,0 +1,189 @@
+package bayern.steinbrecher.green2.sharedBasis.diagnostics;
+
+import bayern.steinbrecher.green2.sharedBasis.utility.ExecutorUtility;
+import javafx.application.Platform;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Detects phases in which the FX application thread is blocked. A heartbeat is posted to the FX application thread
+ * regularly. If it is not processed within {@link #STALL_THRESHOLD} the stack trace of the FX application thread is
+ * captured. As soon as the heartbeat is processed the stall is logged, committed as {@link FxWatchdogStallEvent} to JFR
+ * recordings and added to the statistics of its call site. The call site is the innermost frame of Green2 in the
+ * captured stack trace.
+ * <p>
+ * Nested event loops like the one of {@link javafx.stage.Stage#showAndWait()} keep processing heartbeats. Hence waiting
+ * for the user is not reported as stall.
+ *
+ * @author Stefan Huber
+ * @since 2u14
+ */
+public final class FxWatchdog {
+
+    private static final Logger LOGGER = Logger.getLogger(FxWatchdog.class.getName());
+    private static final long HEARTBEAT_INTERVAL = 100; // [ms]
+    /**
+     * The time a heartbeat may take until the FX application thread is considered to be blocked.
+     */
+    private static final long STALL_THRESHOLD = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final String CALL_SITE_PACKAGE_PREFIX = "bayern.steinbrecher.green2.";
+    private static final String OWN_PACKAGE_PREFIX = FxWatchdog.class.getPackageName() + ".";
+    /**
+     * The maximum number of frames of a captured stack trace which are reported.
+     */
+    private static final int MAX_REPORTED_FRAMES = 25;
+    /**
+     * The time the pending heartbeat was posted at or 0 if no heartbeat is pending.
+     */
+    private static final AtomicLong PENDING_SINCE = new AtomicLong(0);
+    /**
+     * The stall captured for the pending heartbeat.
+     */
+    private static final AtomicReference<Stall> CAPTURED_STALL = new AtomicReference<>();
+    private static final Map<String, StallStatistics> STATISTICS = new ConcurrentHashMap<>();
+    private static volatile Thread fxThread;
+    /**
+     * The task posting heartbeats or {@code null} if the watchdog is not running.
+     */
+    private static ScheduledFuture<?> heartbeats;
+
+    private FxWatchdog() {
+        throw new UnsupportedOperationException("Construction of an object is not allowed.");
+    }
+
+    /**
+     * Starts watching the FX application thread. If the watchdog is running already nothing happens.
+     */
+    public static synchronized void start() {
+        if (heartbeats == null) {
+            heartbeats = ExecutorUtility.SCHEDULED_EXECUTOR.scheduleWithFixedDelay(
+                    FxWatchdog::check, HEARTBEAT_INTERVAL, HEARTBEAT_INTERVAL, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops watching the FX application thread and logs the statistics of all stalls detected so far. If the watchdog
+     * is not running nothing happens.
+     */
+    public static synchronized void stop() {
+        if (heartbeats != null) {
+            heartbeats.cancel(false);
+            heartbeats = null;
+            Map<String, StallStatistics> statistics = getStatistics();
+            if (!statistics.isEmpty()) {
+                String statisticsListing = statistics.entrySet()
+                        .stream()
+                        .sorted(Map.Entry.<String, StallStatistics>comparingByValue(
+                                Comparator.comparingLong(StallStatistics::total)).reversed())
+                        .map(entry -> String.format("%4dx, %6d ms in total, %6d ms at most: %s",
+                                entry.getValue().count(), TimeUnit.NANOSECONDS.toMillis(entry.getValue().total()),
+                                TimeUnit.NANOSECONDS.toMillis(entry.getValue().max()), entry.getKey()))
+                        .collect(Collectors.joining("\n"));
+                LOGGER.log(Level.INFO, "The FX application thread was blocked at these call sites:\n{0}",
+                        statisticsListing);
+            }
+        }
+    }
+
+    /**
+     * Returns the statistics of all stalls detected so far.
+     *
+     * @return The statistics of all stalls detected so far grouped by their call site.
+     */
+    public static Map<String, StallStatistics> getStatistics() {
+        return Map.copyOf(STATISTICS);
+    }
+
+    /**
+     * Posts a heartbeat if none is pending. Otherwise it captures the stack trace of the FX application thread if the
+     * pending heartbeat exceeds {@link #STALL_THRESHOLD}. It is executed by
+     * {@link ExecutorUtility#SCHEDULED_EXECUTOR} and must not block.
+     */
+    private static void check() {
+        long now = System.nanoTime();
+        long pendingSince = PENDING_SINCE.get();
+        if (pendingSince == 0) {
+            CAPTURED_STALL.set(null);
+            PENDING_SINCE.set(now);
+            Platform.runLater(FxWatchdog::beat);
+        } else if (now - pendingSince > STALL_THRESHOLD && CAPTURED_STALL.get() == null) {
+            Thread blockedThread = fxThread;
+            if (blockedThread != null) {
+                StackTraceElement[] stackTrace = blockedThread.getStackTrace();
+                CAPTURED_STALL.set(new Stall(pendingSince, findCallSite(stackTrace), stackTrace));
+            }
+        }
+    }
+
+    /**
+     * Processes the pending heartbeat. It is executed by the FX application thread.
+     */
+    private static void beat() {
+        fxThread = Thread.currentThread();
+        long pendingSince = PENDING_SINCE.getAndSet(0);
+        Stall stall = CAPTURED_STALL.getAndSet(null);
+        // NOTE A stall captured concurrently may belong to a previous heartbeat
+        if (stall != null && stall.pendingSince() == pendingSince) {
+            report(stall, System.nanoTime() - pendingSince);
+        }
+    }
+
+    private static String findCallSite(StackTraceElement[] stackTrace) {
+        return Arrays.stream(stackTrace)
+                .filter(frame -> frame.getClassName().startsWith(CALL_SITE_PACKAGE_PREFIX)
+                        && !frame.getClassName().startsWith(OWN_PACKAGE_PREFIX))
+                .findFirst()
+                .or(() -> Arrays.stream(stackTrace).findFirst())
+                // NOTE The default representation contains the name of the module and its version
+                .map(frame -> String.format("%s.%s(%s:%d)", frame.getClassName(), frame.getMethodName(),
+                        frame.getFileName(), frame.getLineNumber()))
+                .orElse("unknown");
+    }
+
+    private static void report(Stall stall, long duration) {
+        STATISTICS.merge(stall.callSite(), new StallStatistics(1, duration, duration), StallStatistics::merge);
+        String stackTrace = Arrays.stream(stall.stackTrace())
+                .limit(MAX_REPORTED_FRAMES)
+                .map(StackTraceElement::toString)
+                .collect(Collectors.joining("\n"));
+        new FxWatchdogStallEvent(stall.callSite(), duration, stackTrace)
+                .commit();
+        LOGGER.log(Level.WARNING, "The FX application thread was blocked for {0} ms at {1}",
+                new Object[]{TimeUnit.NANOSECONDS.toMillis(duration), stall.callSite()});
+        LOGGER.log(Level.FINE, "Stack trace of the blocked FX application thread:\n{0}", stackTrace);
+    }
+
+    /**
+     * Represents a stall captured while a heartbeat is pending.
+     *
+     * @param pendingSince The time the pending heartbeat was posted at.
+     * @param callSite     The call site blocking the FX application thread.
+     * @param stackTrace   The stack trace of the FX application thread when capturing it.
+     */
+    private record Stall(long pendingSince, String callSite, StackTraceElement[] stackTrace) {
+    }
+
+    /**
+     * Represents the statistics of all stalls having the same call site.
+     *
+     * @param count The number of stalls.
+     * @param total The total duration of all stalls in nanoseconds.
+     * @param max   The duration of the longest stall in nanoseconds.
+     */
+    public record StallStatistics(long count, long total, long max) {
+
+        private StallStatistics merge(StallStatistics other) {
+            return new StallStatistics(count + other.count, total + other.total, Math.max(max, other.max));
+        }
+    }
+}
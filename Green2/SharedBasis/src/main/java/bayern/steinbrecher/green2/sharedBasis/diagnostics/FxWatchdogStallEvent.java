@@ -0,0 +1,41 @@
+package bayern.steinbrecher.green2.sharedBasis.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Represents a stall of the FX application thread detected by {@link FxWatchdog} in a JFR recording. The event is
+ * committed by the FX application thread when it is not blocked anymore. Hence the stack trace of the blocked FX
+ * application thread is contained as field instead of the stack trace of the event.
+ *
+ * @author Stefan Huber
+ * @since 2u14
+ */
+@Name("bayern.steinbrecher.green2.FxWatchdogStall")
+@Label("FX Application Thread Stall Detected")
+@Category({"Green2", "UI"})
+@Description("The FX application thread did not process a heartbeat in time")
+@StackTrace(false)
+public class FxWatchdogStallEvent extends Event {
+
+    @Label("Call Site")
+    @Description("The innermost frame of Green2 while the FX application thread was blocked")
+    String callSite;
+    @Label("Blocked")
+    @Timespan(Timespan.NANOSECONDS)
+    long blocked;
+    @Label("Stack Trace")
+    String blockedStackTrace;
+
+    FxWatchdogStallEvent(String callSite, long blocked, String blockedStackTrace) {
+        super();
+        this.callSite = callSite;
+        this.blocked = blocked;
+        this.blockedStackTrace = blockedStackTrace;
+    }
+}
@@ -0,0 +1,32 @@
+package bayern.steinbrecher.green2.sharedBasis.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Represents a phase of starting a program of Green2 in a JFR recording. The duration of the event is the duration of
+ * the phase.
+ *
+ * @author Stefan Huber
+ * @see StartupTracer
+ * @since 2u14
+ */
+@Name("bayern.steinbrecher.green2.StartupPhase")
+@Label("Startup Phase")
+@Category({"Green2", "Startup"})
+@Description("A phase between launching a program and the program becoming interactive")
+@StackTrace(false)
+public class StartupPhaseEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+
+    StartupPhaseEvent(String phase) {
+        super();
+        this.phase = phase;
+    }
+}
@@ -0,0 +1,163 @@
+package bayern.steinbrecher.green2.sharedBasis.diagnostics;
+
+import javafx.application.Platform;
+import javafx.scene.control.Label;
+import javafx.stage.Popup;
+import javafx.stage.Window;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Records the phases between launching a program and the program becoming interactive. The phases are measured using
+ * {@link System#nanoTime()} and are committed as {@link StartupPhaseEvent}s to JFR recordings. As soon as the program
+ * is interactive a summary of all phases is logged. If the system property {@link #OVERLAY_PROPERTY} is set to
+ * {@code true} the summary is additionally shown on top of the window of the program.
+ * <p>
+ * Phases may overlap and may be recorded by any thread. Since programs hosted within the same JVM share this tracer
+ * only the first program becoming interactive is reported.
+ *
+ * @author Stefan Huber
+ * @since 2u14
+ */
+public final class StartupTracer {
+
+    private static final Logger LOGGER = Logger.getLogger(StartupTracer.class.getName());
+    /**
+     * The name of the system property enabling the overlay showing the summary of the startup.
+     */
+    public static final String OVERLAY_PROPERTY = "bayern.steinbrecher.green2.startupOverlay";
+    private static final long TRACER_START = System.nanoTime();
+    /**
+     * The time passed between starting the JVM and initializing this class in nanoseconds. It is 0 if the start of the
+     * JVM is unknown.
+     */
+    private static final long JVM_START_OFFSET = ProcessHandle.current()
+            .info()
+            .startInstant()
+            .map(start -> Duration.between(start, Instant.now()).toNanos())
+            .orElse(0L);
+    /**
+     * The phases finished so far. It is only accessed while holding its lock.
+     */
+    private static final List<PhaseRecord> FINISHED_PHASES = new ArrayList<>();
+    private static final AtomicBoolean INTERACTIVE = new AtomicBoolean(false);
+
+    private StartupTracer() {
+        throw new UnsupportedOperationException("Construction of an object is not allowed.");
+    }
+
+    /**
+     * Returns the time passed between starting the JVM and the given value of {@link System#nanoTime()}.
+     */
+    private static long sinceJvmStart(long nanoTime) {
+        return JVM_START_OFFSET + nanoTime - TRACER_START;
+    }
+
+    /**
+     * Starts measuring a phase of the startup. The phase ends when the returned object is closed.
+     *
+     * @param name The name of the phase which is shown in the summary and in JFR recordings.
+     * @return The started phase.
+     */
+    public static Phase begin(String name) {
+        return new Phase(name);
+    }
+
+    private static String createSummary(long timeToInteractive) {
+        List<PhaseRecord> phases;
+        synchronized (FINISHED_PHASES) {
+            phases = new ArrayList<>(FINISHED_PHASES);
+        }
+        phases.add(0, new PhaseRecord("JVM start", 0, JVM_START_OFFSET));
+        String phasesListing = phases.stream()
+                .sorted((first, second) -> Long.compare(first.start(), second.start()))
+                .map(phase -> String.format("%7d ms + %6d ms  %s", TimeUnit.NANOSECONDS.toMillis(phase.start()),
+                        TimeUnit.NANOSECONDS.toMillis(phase.duration()), phase.name()))
+                .collect(Collectors.joining("\n"));
+        return String.format("The program became interactive after %d ms:\n%s",
+                TimeUnit.NANOSECONDS.toMillis(timeToInteractive), phasesListing);
+    }
+
+    private static void showOverlay(Window owner, String summary) {
+        Label summaryLabel = new Label(summary);
+        summaryLabel.setStyle("-fx-background-color: rgba(0, 0, 0, 0.75); -fx-text-fill: white; "
+                + "-fx-font-family: monospace; -fx-padding: 1em;");
+        Popup overlay = new Popup();
+        overlay.getContent()
+                .add(summaryLabel);
+        overlay.setAutoHide(true);
+        overlay.show(owner);
+    }
+
+    /**
+     * Marks the program as interactive. Only the first call has any effect. It commits a
+     * {@link TimeToInteractiveEvent}, logs a summary of all phases finished so far and shows it if requested by
+     * {@link #OVERLAY_PROPERTY}. Phases finishing afterwards are only committed to JFR recordings.
+     *
+     * @param owner The window to show the overlay on. If it is {@code null} no overlay is shown.
+     */
+    public static void interactive(Window owner) {
+        if (INTERACTIVE.compareAndSet(false, true)) {
+            long timeToInteractive = sinceJvmStart(System.nanoTime());
+            new TimeToInteractiveEvent(timeToInteractive)
+                    .commit();
+            String summary = createSummary(timeToInteractive);
+            LOGGER.log(Level.INFO, summary);
+            if (owner != null && Boolean.getBoolean(OVERLAY_PROPERTY)) {
+                Platform.runLater(() -> showOverlay(owner, summary));
+            }
+        }
+    }
+
+    /**
+     * Represents a finished phase.
+     *
+     * @param name     The name of the phase.
+     * @param start    The time passed between starting the JVM and starting the phase in nanoseconds.
+     * @param duration The duration of the phase in nanoseconds.
+     */
+    private record PhaseRecord(String name, long start, long duration) {
+    }
+
+    /**
+     * Represents a phase of the startup which is measured until it is closed.
+     */
+    public static final class Phase implements AutoCloseable {
+
+        private final String name;
+        private final StartupPhaseEvent event;
+        private final long start;
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+
+        private Phase(String name) {
+            this.name = name;
+            event = new StartupPhaseEvent(name);
+            event.begin();
+            start = System.nanoTime();
+        }
+
+        /**
+         * Ends this phase. Only the first call has any effect. Hence a phase may be closed by multiple code paths.
+         */
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                long end = System.nanoTime();
+                event.commit();
+                if (!INTERACTIVE.get()) {
+                    synchronized (FINISHED_PHASES) {
+                        FINISHED_PHASES.add(new PhaseRecord(name, sinceJvmStart(start), end - start));
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package bayern.steinbrecher.green2.sharedBasis.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Represents the moment a program of Green2 became interactive in a JFR recording.
+ *
+ * @author Stefan Huber
+ * @see StartupTracer
+ * @since 2u14
+ */
+@Name("bayern.steinbrecher.green2.TimeToInteractive")
+@Label("Time To Interactive")
+@Category({"Green2", "Startup"})
+@Description("The time passed between starting the JVM and the program becoming interactive")
+@StackTrace(false)
+public class TimeToInteractiveEvent extends Event {
+
+    @Label("Time To Interactive")
+    @Timespan(Timespan.NANOSECONDS)
+    long timeToInteractive;
+
+    TimeToInteractiveEvent(long timeToInteractive) {
+        super();
+        this.timeToInteractive = timeToInteractive;
+    }
+}
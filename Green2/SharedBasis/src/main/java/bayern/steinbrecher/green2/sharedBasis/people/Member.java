@@ -121,7 +121,8 @@ public record Member(
 
     @Override
     public boolean equals(Object comp) {
-        return comp == this || comp instanceof Member && this.membershipnumber() == ((Member) comp).membershipnumber();
+        return comp == this || comp instanceof Member
+                && Objects.equals(this.membershipnumber(), ((Member) comp).membershipnumber());
     }
 
     @Override
@@ -0,0 +1,166 @@
+package bayern.steinbrecher.green2.sharedBasis.people;
+
+import java.text.Collator;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Represents the precomputed keys used for sorting {@link Member}s. {@link #sort(Collection, Comparator)} calculates
+ * the keys once for each member to sort. Afterwards comparing two members only compares bytes and numbers instead of
+ * collating their names or deriving their birthdays again.
+ *
+ * @author Stefan Huber
+ * @since 2u14
+ */
+public final class MemberSortKey {
+
+    private static final Collator COLLATOR = Collator.getInstance(Locale.GERMAN);
+    /**
+     * The number of bits reserved for the day of month within {@link #birthdayKey()}.
+     */
+    private static final int DAY_BITS = 5;
+    /**
+     * The number of bits reserved for the month within {@link #birthdayKey()}.
+     */
+    private static final int MONTH_BITS = 4;
+    /**
+     * Orders keys according to the german collation of the names of the associated persons.
+     */
+    public static final Comparator<MemberSortKey> NAME_ORDER
+            = (keyA, keyB) -> Arrays.compareUnsigned(keyA.nameKey, keyB.nameKey);
+    /**
+     * Orders keys according to the birthday of the associated persons (year descending, month ascending, day
+     * ascending) and then according to their names. Persons without birthday are placed last.
+     */
+    public static final Comparator<MemberSortKey> BIRTHDAY_ORDER = Comparator.comparingLong(MemberSortKey::birthdayKey)
+            .thenComparing(NAME_ORDER);
+
+    static {
+        COLLATOR.setStrength(Collator.SECONDARY);
+    }
+
+    private final byte[] nameKey;
+    private final long birthdayKey;
+
+    private MemberSortKey(byte[] nameKey, long birthdayKey) {
+        this.nameKey = nameKey;
+        this.birthdayKey = birthdayKey;
+    }
+
+    /**
+     * Calculates the sort keys of the given person.
+     *
+     * @param person The person to calculate the keys for. May be {@code null} in which case the person is sorted
+     *               last.
+     * @return The sort keys of the given person.
+     */
+    public static MemberSortKey of(Person person) {
+        byte[] nameKey;
+        long birthdayKey;
+        if (person == null) {
+            nameKey = new byte[0];
+            birthdayKey = Long.MAX_VALUE;
+        } else {
+            /*
+             * NOTE Collator#getCollationKey(...) is synchronized. Since keys are only calculated once per member and
+             * sorting this does not matter.
+             */
+            nameKey = COLLATOR.getCollationKey(person.name())
+                    .toByteArray();
+            birthdayKey = packBirthday(person.birthday());
+        }
+        return new MemberSortKey(nameKey, birthdayKey);
+    }
+
+    /**
+     * Sorts the given member according to the given order of their keys. The keys are calculated once for each member
+     * and kept next to it while sorting. The sorting is stable.
+     *
+     * @param member The member to sort.
+     * @param order  The order of the keys like {@link #NAME_ORDER} or {@link #BIRTHDAY_ORDER}.
+     * @return The given member in the given order.
+     */
+    public static List<Member> sort(Collection<Member> member, Comparator<MemberSortKey> order) {
+        KeyedMember[] keyedMember = member.stream()
+                .map(m -> new KeyedMember(of(m.person()), m))
+                .toArray(KeyedMember[]::new);
+        Arrays.sort(keyedMember, Comparator.comparing(KeyedMember::key, order));
+        return Arrays.stream(keyedMember)
+                .map(KeyedMember::member)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Packs the given birthday into a single {@code long} such that ascending order of the packed values represents
+     * descending years, ascending months and ascending days.
+     */
+    private static long packBirthday(LocalDate birthday) {
+        long packed;
+        if (birthday == null) {
+            packed = Long.MAX_VALUE;
+        } else {
+            long invertedYear = (long) LocalDate.MAX.getYear() - birthday.getYear();
+            packed = (((invertedYear << MONTH_BITS) | birthday.getMonthValue()) << DAY_BITS)
+                    | birthday.getDayOfMonth();
+        }
+        return packed;
+    }
+
+    /**
+     * Returns the packed representation of the birthday of the associated person.
+     *
+     * @return The packed representation of the birthday of the associated person. Returns {@link Long#MAX_VALUE} if
+     * the person has no birthday.
+     * @see #BIRTHDAY_ORDER
+     */
+    public long birthdayKey() {
+        return birthdayKey;
+    }
+
+    /**
+     * Compares the names of the associated persons.
+     *
+     * @param other The key to compare with.
+     * @return A negative value, zero or a positive value if the name of this key is sorted before, equal to or after
+     * the name of {@code other}.
+     * @see #NAME_ORDER
+     */
+    public int compareNameTo(MemberSortKey other) {
+        return NAME_ORDER.compare(this, other);
+    }
+
+    /**
+     * Compares keys according to {@link #BIRTHDAY_ORDER}.
+     *
+     * @param other The key to compare with.
+     * @return A negative value, zero or a positive value if this key is sorted before, equal to or after
+     * {@code other}.
+     * @see #BIRTHDAY_ORDER
+     */
+    public int compareBirthdayTo(MemberSortKey other) {
+        return BIRTHDAY_ORDER.compare(this, other);
+    }
+
+    @Override
+    public boolean equals(Object comp) {
+        return comp == this || comp instanceof MemberSortKey
+                && birthdayKey == ((MemberSortKey) comp).birthdayKey
+                && Arrays.equals(nameKey, ((MemberSortKey) comp).nameKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(nameKey) + Long.hashCode(birthdayKey);
+    }
+
+    /**
+     * Represents a member and its precomputed keys while sorting.
+     */
+    private record KeyedMember(MemberSortKey key, Member member) {
+    }
+}
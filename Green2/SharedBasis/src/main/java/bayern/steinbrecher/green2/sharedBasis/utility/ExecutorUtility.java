@@ -0,0 +1,180 @@
+package bayern.steinbrecher.green2.sharedBasis.utility;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contains the executors to use for asynchronous tasks instead of the common {@link java.util.concurrent.ForkJoinPool}.
+ * Blocking I/O like database queries, CPU bound calculations and tasks which have to be executed in order are
+ * separated into their own pools. Hence blocking I/O can not starve calculations. All threads are daemon threads.
+ *
+ * @author Stefan Huber
+ * @since 2u14
+ */
+public final class ExecutorUtility {
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+    /**
+     * The maximum number of threads waiting for blocking I/O at the same time.
+     */
+    private static final int MAX_IO_THREADS = 16;
+    /**
+     * The executor for tasks which mostly wait for blocking I/O like database queries, SSH connections or writing
+     * files.
+     */
+    public static final ExecutorService IO_EXECUTOR = new MeteredExecutor("io", MAX_IO_THREADS);
+    /**
+     * The executor for CPU bound calculations. It has as many threads as there are processors available.
+     */
+    public static final ExecutorService CPU_EXECUTOR
+            = new MeteredExecutor("cpu", Runtime.getRuntime().availableProcessors());
+    /**
+     * The executor for tasks which have to be executed one after another in the order of their submission.
+     */
+    public static final ExecutorService SERIAL_EXECUTOR = new MeteredExecutor("serial", 1);
+    /**
+     * The executor for triggering periodic or delayed tasks. Since it has only a single thread scheduled tasks must
+     * not block but hand over their actual work to one of the other executors.
+     */
+    public static final ScheduledExecutorService SCHEDULED_EXECUTOR = createScheduledExecutor();
+
+    private ExecutorUtility() {
+        throw new UnsupportedOperationException("Construction of an object is not allowed.");
+    }
+
+    private static ScheduledExecutorService createScheduledExecutor() {
+        ScheduledThreadPoolExecutor executor
+                = new ScheduledThreadPoolExecutor(1, new NamedDaemonThreadFactory("scheduled"));
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    /**
+     * Returns a snapshot of the metrics of all executors of this class.
+     *
+     * @return A snapshot of the metrics of {@link #IO_EXECUTOR}, {@link #CPU_EXECUTOR} and {@link #SERIAL_EXECUTOR}.
+     */
+    public static List<ExecutorMetrics> getMetrics() {
+        return List.of(
+                ((MeteredExecutor) IO_EXECUTOR).getMetrics(),
+                ((MeteredExecutor) CPU_EXECUTOR).getMetrics(),
+                ((MeteredExecutor) SERIAL_EXECUTOR).getMetrics()
+        );
+    }
+
+    /**
+     * Represents a snapshot of the metrics of an executor.
+     *
+     * @param name              The name of the executor.
+     * @param maxThreads        The maximum number of threads of the executor.
+     * @param currentThreads    The number of threads currently existing.
+     * @param activeThreads     The number of threads currently executing tasks.
+     * @param largestThreads    The largest number of threads which existed at the same time.
+     * @param queuedTasks       The number of tasks waiting for execution.
+     * @param completedTasks    The number of tasks which completed execution.
+     * @param totalWaitNanos    The sum of the time all started tasks waited in the queue.
+     * @param totalExecuteNanos The sum of the time all completed tasks took for execution.
+     */
+    public record ExecutorMetrics(String name, int maxThreads, int currentThreads, int activeThreads,
+                                  int largestThreads, int queuedTasks, long completedTasks, long totalWaitNanos,
+                                  long totalExecuteNanos) {
+    }
+
+    /**
+     * A {@link ThreadPoolExecutor} with a fixed maximum number of daemon threads which are discarded when idling. It
+     * measures how long tasks wait for execution and how long their execution takes.
+     */
+    private static final class MeteredExecutor extends ThreadPoolExecutor {
+
+        private final String name;
+        private final LongAdder totalWaitNanos = new LongAdder();
+        private final LongAdder totalExecuteNanos = new LongAdder();
+        private final ThreadLocal<Long> executionStart = new ThreadLocal<>();
+
+        MeteredExecutor(String name, int maxThreads) {
+            super(maxThreads, maxThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    new NamedDaemonThreadFactory(name));
+            this.name = name;
+            allowCoreThreadTimeOut(true);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            super.execute(new QueuedTask(command));
+        }
+
+        @Override
+        protected void beforeExecute(Thread thread, Runnable task) {
+            super.beforeExecute(thread, task);
+            long now = System.nanoTime();
+            if (task instanceof QueuedTask) {
+                totalWaitNanos.add(now - ((QueuedTask) task).queuedAt);
+            }
+            executionStart.set(now);
+        }
+
+        @Override
+        protected void afterExecute(Runnable task, Throwable exception) {
+            Long start = executionStart.get();
+            if (start != null) {
+                totalExecuteNanos.add(System.nanoTime() - start);
+                executionStart.remove();
+            }
+            super.afterExecute(task, exception);
+        }
+
+        ExecutorMetrics getMetrics() {
+            return new ExecutorMetrics(name, getMaximumPoolSize(), getPoolSize(), getActiveCount(),
+                    getLargestPoolSize(), getQueue().size(), getCompletedTaskCount(), totalWaitNanos.sum(),
+                    totalExecuteNanos.sum());
+        }
+    }
+
+    /**
+     * Remembers when a task was submitted.
+     */
+    private static final class QueuedTask implements Runnable {
+
+        private final Runnable task;
+        private final long queuedAt = System.nanoTime();
+
+        QueuedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+
+    /**
+     * Creates daemon threads which are named after their pool and handle uncaught exceptions using
+     * {@link ThreadUtility#DEFAULT_THREAD_EXCEPTION_HANDLER}.
+     */
+    private static final class NamedDaemonThreadFactory implements ThreadFactory {
+
+        private final String poolName;
+        private final AtomicInteger threadCounter = new AtomicInteger();
+
+        NamedDaemonThreadFactory(String poolName) {
+            this.poolName = poolName;
+        }
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "green2-" + poolName + "-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setUncaughtExceptionHandler(ThreadUtility.DEFAULT_THREAD_EXCEPTION_HANDLER);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package bayern.steinbrecher.green2.sharedBasis.utility;
+
+import javafx.application.Platform;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Batches updates of the UI which are requested from any thread. Instead of calling {@link Platform#runLater(Runnable)}
+ * once per update all pending updates are executed by a single runnable on the FX application thread. Updates which
+ * are scheduled with a key replace pending updates having the same key so only the latest one is executed. This is
+ * suitable for frequent updates like progress indicators.
+ *
+ * @author Stefan Huber
+ * @since 2u14
+ */
+public final class FxUpdateScheduler {
+
+    private static final Logger LOGGER = Logger.getLogger(FxUpdateScheduler.class.getName());
+    private static final Queue<Runnable> PENDING_UPDATES = new ConcurrentLinkedQueue<>();
+    private static final Map<Object, Runnable> PENDING_KEYED_UPDATES = new ConcurrentHashMap<>();
+    private static final AtomicBoolean DRAIN_SCHEDULED = new AtomicBoolean(false);
+
+    private FxUpdateScheduler() {
+        throw new UnsupportedOperationException("Construction of an object is not allowed.");
+    }
+
+    /**
+     * Schedules the given update to be executed on the FX application thread. Updates scheduled by this method are
+     * executed in the order of their scheduling.
+     *
+     * @param update The update to execute.
+     */
+    public static void schedule(Runnable update) {
+        PENDING_UPDATES.add(update);
+        requestDrain();
+    }
+
+    /**
+     * Schedules the given update to be executed on the FX application thread. It replaces any pending update which
+     * was scheduled with the same key. Keyed updates are executed after the updates scheduled by
+     * {@link #schedule(Runnable)} within the same batch.
+     *
+     * @param key    The key identifying the target of the update, e.g. the property to update.
+     * @param update The update to execute.
+     */
+    public static void schedule(Object key, Runnable update) {
+        PENDING_KEYED_UPDATES.put(key, update);
+        requestDrain();
+    }
+
+    /**
+     * Executes the given update immediately if called on the FX application thread. Otherwise it is scheduled.
+     *
+     * @param update The update to execute.
+     * @see #schedule(Runnable)
+     */
+    public static void runOrSchedule(Runnable update) {
+        if (Platform.isFxApplicationThread()) {
+            update.run();
+        } else {
+            schedule(update);
+        }
+    }
+
+    /**
+     * Executes the given action on the FX application thread without blocking the calling thread. If called on the FX
+     * application thread the action is executed immediately.
+     *
+     * @param <T>    The type of the result of the action.
+     * @param action The action to execute.
+     * @return The future completed with the result of the action or exceptionally if the action threw an exception.
+     */
+    public static <T> CompletableFuture<T> supply(Callable<T> action) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        runOrSchedule(() -> {
+            try {
+                result.complete(action.call());
+            } catch (Exception ex) { //NOPMD - The action may throw any exception which is passed to the future.
+                result.completeExceptionally(ex);
+            }
+        });
+        return result;
+    }
+
+    private static void requestDrain() {
+        if (DRAIN_SCHEDULED.compareAndSet(false, true)) {
+            Platform.runLater(FxUpdateScheduler::drain);
+        }
+    }
+
+    private static void drain() {
+        // NOTE Reset first so updates scheduled while draining request another batch if they are missed
+        DRAIN_SCHEDULED.set(false);
+        int pendingUpdates = PENDING_UPDATES.size();
+        for (int i = 0; i < pendingUpdates; i++) {
+            Runnable update = PENDING_UPDATES.poll();
+            if (update == null) {
+                break;
+            }
+            runSafely(update);
+        }
+        for (Object key : PENDING_KEYED_UPDATES.keySet()) {
+            Runnable update = PENDING_KEYED_UPDATES.remove(key);
+            if (update != null) {
+                runSafely(update);
+            }
+        }
+    }
+
+    private static void runSafely(Runnable update) {
+        try {
+            update.run();
+        } catch (RuntimeException ex) {
+            LOGGER.log(Level.SEVERE, "An update of the UI failed", ex);
+        }
+    }
+}
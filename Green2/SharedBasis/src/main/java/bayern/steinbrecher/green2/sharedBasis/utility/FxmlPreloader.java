@@ -0,0 +1,88 @@
+package bayern.steinbrecher.green2.sharedBasis.utility;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Initializes the classes the FXML files of a program refer to in the background. Loading an FXML file the first time
+ * is dominated by loading and initializing the controls and the controller it refers to. Hence dialogs open faster if
+ * their classes are initialized while the user is still busy with e.g. the login. The classes are listed at build time
+ * by the Gradle task {@code indexFxmlClasses}.
+ *
+ * @author Stefan Huber
+ * @since 2u14
+ */
+public final class FxmlPreloader {
+
+    private static final Logger LOGGER = Logger.getLogger(FxmlPreloader.class.getName());
+    private static final String INDEX_PATH_FORMAT = "META-INF/green2/%s.fxml-classes";
+
+    private FxmlPreloader() {
+        throw new UnsupportedOperationException("Construction of an object is not allowed.");
+    }
+
+    /**
+     * Reads the classes listed in the index of the given module.
+     */
+    private static Set<String> readIndex(ClassLoader loader, String moduleName) throws IOException {
+        Set<String> classNames = new LinkedHashSet<>();
+        InputStream index = loader.getResourceAsStream(String.format(INDEX_PATH_FORMAT, moduleName));
+        if (index != null) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(index, StandardCharsets.UTF_8))) {
+                String entry;
+                while ((entry = reader.readLine()) != null) {
+                    int separatorIndex = entry.indexOf('=');
+                    if (separatorIndex >= 0) {
+                        for (String className : entry.substring(separatorIndex + 1).split(",")) {
+                            if (!className.isBlank()) {
+                                classNames.add(className.strip());
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return classNames;
+    }
+
+    /**
+     * Initializes all classes the FXML files of the program containing the given class refer to. This method returns
+     * immediately. The classes are initialized by {@link ExecutorUtility#CPU_EXECUTOR}. Classes which can not be
+     * initialized are skipped since FXMLLoader reports them anyway when loading the corresponding FXML file.
+     *
+     * @param programClass Any class of the program whose FXML files should be preloaded.
+     */
+    public static void preload(Class<?> programClass) {
+        Module module = programClass.getModule();
+        ClassLoader loader = programClass.getClassLoader();
+        if (module.isNamed()) {
+            ExecutorUtility.CPU_EXECUTOR.execute(() -> {
+                long start = System.nanoTime();
+                int initializedClasses = 0;
+                try {
+                    for (String className : readIndex(loader, module.getName())) {
+                        try {
+                            Class.forName(className, true, loader);
+                            initializedClasses++;
+                        } catch (ClassNotFoundException | LinkageError ex) {
+                            LOGGER.log(Level.FINE, "Could not preload " + className, ex);
+                        }
+                    }
+                } catch (IOException ex) {
+                    LOGGER.log(Level.WARNING, "Could not read the classes referred to by FXML files", ex);
+                }
+                LOGGER.log(Level.FINE, "Preloaded {0} classes of FXML files in {1} ms",
+                        new Object[]{initializedClasses, (System.nanoTime() - start) / 1_000_000});
+            });
+        } else {
+            LOGGER.log(Level.FINE, "There is no index of the classes referred to by FXML files of unnamed modules");
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package bayern.steinbrecher.green2.sharedBasis.utility;
 
 import bayern.steinbrecher.green2.sharedBasis.data.EnvironmentHandler;
+import javafx.stage.DirectoryChooser;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
@@ -11,6 +12,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.channels.Channels;
@@ -58,17 +60,8 @@ public final class IOStreamUtility {
      */
     public static Optional<File> askForSavePath(Stage owner, String filePrefix, String fileEnding,
                                                 String initialDirectoryPath) {
-        String today = LocalDate.now().toString();
-        String dateFilePrefix = today + "_" + filePrefix;
         File initialDirectory = new File(initialDirectoryPath);
-        File initialFile = new File(initialDirectory, dateFilePrefix + "." + fileEnding);
-        Random random = new Random();
-        while (initialFile.exists()) {
-            //CHECKSTYLE.OFF: MagicNumber - Choosing 1000 is quite random and has no special matter.
-            initialFile = new File(
-                    initialDirectory, dateFilePrefix + "_" + random.nextInt(1000) + "." + fileEnding); //NOPMD
-            //CHECKSTYLE.ON: MagicNumber
-        }
+        File initialFile = findUnusedFile(initialDirectory, filePrefix, fileEnding);
 
         FileChooser saveDialog = new FileChooser();
         saveDialog.setTitle(EnvironmentHandler.getResourceValue("save"));
@@ -83,6 +76,47 @@ public final class IOStreamUtility {
         return Optional.ofNullable(saveDialog.showSaveDialog(owner));
     }
 
+    /**
+     * Opens a dialog asking the user to choose a directory where to save multiple files. It does not change any user
+     * specific registry keys relating to any profile. If the profile settings should be updated
+     * {@link EnvironmentHandler#askForSaveDirectory(javafx.stage.Stage)} should be used.
+     *
+     * @param owner                The owner of the dialog.
+     * @param initialDirectoryPath The path of the directory to show initially.
+     * @return The chosen directory or {@link Optional#empty()} if no directory was chosen.
+     * @see #findUnusedFile(File, String, String)
+     * @since 2u14
+     */
+    public static Optional<File> askForSaveDirectory(Stage owner, String initialDirectoryPath) {
+        DirectoryChooser saveDialog = new DirectoryChooser();
+        saveDialog.setTitle(EnvironmentHandler.getResourceValue("save"));
+        saveDialog.setInitialDirectory(new File(initialDirectoryPath));
+        return Optional.ofNullable(saveDialog.showDialog(owner));
+    }
+
+    /**
+     * Returns a file in {@code directory} which does not exist yet. Its name consists of the current date and
+     * {@code filePrefix}. It is extended by a random number if such a file already exists.
+     *
+     * @param directory  The directory to place the file in.
+     * @param filePrefix The name of the file which is prefixed with the current date.
+     * @param fileEnding The format of the file. NOTE: Without leading point.
+     * @return A file which does not exist yet at the time of calling this method.
+     * @since 2u14
+     */
+    public static File findUnusedFile(File directory, String filePrefix, String fileEnding) {
+        String today = LocalDate.now().toString();
+        String dateFilePrefix = today + "_" + filePrefix;
+        File unusedFile = new File(directory, dateFilePrefix + "." + fileEnding);
+        Random random = new Random();
+        while (unusedFile.exists()) {
+            //CHECKSTYLE.OFF: MagicNumber - Choosing 1000 is quite random and has no special matter.
+            unusedFile = new File(directory, dateFilePrefix + "_" + random.nextInt(1000) + "." + fileEnding); //NOPMD
+            //CHECKSTYLE.ON: MagicNumber
+        }
+        return unusedFile;
+    }
+
     /**
      * Reads the hole content of a given {@link InputStream} decoding with {@link Charset}.
      *
@@ -160,13 +194,44 @@ public final class IOStreamUtility {
      * @throws java.io.IOException Thrown if any I/O error occurs.
      */
     public static void printContent(String content, File outputFile, boolean withBom) throws IOException {
+        printContent(outputWriter -> outputWriter.append(content), outputFile, withBom);
+    }
+
+    /**
+     * Overrides the hole content of {@code outputFile} with the content {@code printer} writes. In contrast to
+     * {@link #printContent(String, File, boolean)} the content does not need to be created completely before writing
+     * it. If {@code pathToFile} doesn't exist it creates one.
+     *
+     * @param printer    The function writing the content into the file.
+     * @param outputFile The file to write in.
+     * @param withBom    Only if {@code true} it adds '\uFEFF' to the beginning of the file.
+     * @throws java.io.IOException Thrown if any I/O error occurs.
+     * @since 2u14
+     */
+    public static void printContent(ContentPrinter printer, File outputFile, boolean withBom) throws IOException {
         try (BufferedWriter outputWriter
                 = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(outputFile.toPath()), "UTF-8"))) {
             //To make no UTF-8 without BOM but with BOM (Big Endian).
             if (withBom) {
                 outputWriter.append('\uFEFF');
             }
-            outputWriter.append(content);
+            printer.print(outputWriter);
         }
     }
+
+    /**
+     * Represents a function writing content to a {@link Writer}.
+     *
+     * @since 2u14
+     */
+    @FunctionalInterface
+    public interface ContentPrinter {
+        /**
+         * Writes the content to the given {@link Writer}.
+         *
+         * @param writer The writer to write the content to. It must not be closed.
+         * @throws IOException Thrown if any I/O error occurs.
+         */
+        void print(Writer writer) throws IOException;
+    }
 }
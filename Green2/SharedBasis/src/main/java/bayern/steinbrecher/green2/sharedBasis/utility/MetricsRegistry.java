@@ -0,0 +1,374 @@
+package bayern.steinbrecher.green2.sharedBasis.utility;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Contains the operational metrics of the running program like the number of loaded rows, the latency of queries or
+ * the throughput of exports. Metrics are created when they are requested the first time and live as long as the JVM.
+ * There are three kinds of metrics:
+ * <ul>
+ *     <li>{@link Counter}s summing up values.</li>
+ *     <li>{@link Timer}s recording durations in a histogram with logarithmic buckets. Percentiles are reported with a
+ *     relative error of at most about 3%.</li>
+ *     <li>Gauges reading a current value like the used heap whenever a snapshot is taken.</li>
+ * </ul>
+ * Recording a value is lock free. Hence metrics may be updated by any thread even in hot paths.
+ *
+ * @author Stefan Huber
+ * @since 2u14
+ */
+public final class MetricsRegistry {
+
+    private static final Logger LOGGER = Logger.getLogger(MetricsRegistry.class.getName());
+    private static final Map<String, Metric> METRICS = new ConcurrentHashMap<>();
+    private static final String CSV_HEADER = "name;type;count;value;mean;p50;p90;p99;max";
+
+    static {
+        gauge("jvm.heap.used", () -> Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory());
+        gauge("jvm.heap.max", () -> Runtime.getRuntime().maxMemory());
+        for (ExecutorUtility.ExecutorMetrics executor : ExecutorUtility.getMetrics()) {
+            String prefix = "executor." + executor.name() + ".";
+            gauge(prefix + "active", () -> getExecutorMetrics(executor.name()).activeThreads());
+            gauge(prefix + "queued", () -> getExecutorMetrics(executor.name()).queuedTasks());
+            gauge(prefix + "completed", () -> getExecutorMetrics(executor.name()).completedTasks());
+        }
+    }
+
+    private MetricsRegistry() {
+        throw new UnsupportedOperationException("Construction of an object is not allowed.");
+    }
+
+    private static ExecutorUtility.ExecutorMetrics getExecutorMetrics(String name) {
+        return ExecutorUtility.getMetrics()
+                .stream()
+                .filter(metrics -> metrics.name().equals(name))
+                .findAny()
+                .orElseThrow();
+    }
+
+    private static <M extends Metric> M getOrCreate(String name, Class<M> kind, Supplier<M> creator) {
+        Metric metric = METRICS.computeIfAbsent(name, key -> creator.get());
+        if (!kind.isInstance(metric)) {
+            throw new IllegalArgumentException(
+                    String.format("The metric %s is no %s", name, kind.getSimpleName().toLowerCase(Locale.ROOT)));
+        }
+        return kind.cast(metric);
+    }
+
+    /**
+     * Returns the counter with the given name.
+     *
+     * @param name The name of the counter.
+     * @return The counter with the given name. It is created if it does not exist yet.
+     * @throws IllegalArgumentException Thrown if there is another kind of metric with the same name.
+     */
+    public static Counter counter(String name) {
+        return getOrCreate(name, Counter.class, Counter::new);
+    }
+
+    /**
+     * Returns the timer with the given name.
+     *
+     * @param name The name of the timer.
+     * @return The timer with the given name. It is created if it does not exist yet.
+     * @throws IllegalArgumentException Thrown if there is another kind of metric with the same name.
+     */
+    public static Timer timer(String name) {
+        return getOrCreate(name, Timer.class, Timer::new);
+    }
+
+    /**
+     * Registers a gauge reading the given value whenever a snapshot is taken. It replaces any gauge having the same
+     * name.
+     *
+     * @param name  The name of the gauge.
+     * @param value The function reading the current value. It must not block.
+     * @throws IllegalArgumentException Thrown if there is another kind of metric with the same name.
+     */
+    public static void gauge(String name, Supplier<? extends Number> value) {
+        METRICS.compute(name, (key, previous) -> {
+            if (previous != null && !(previous instanceof Gauge)) {
+                throw new IllegalArgumentException(String.format("The metric %s is no gauge", name));
+            }
+            return new Gauge(value);
+        });
+    }
+
+    /**
+     * Returns the current values of all metrics.
+     *
+     * @return The current values of all metrics sorted by their names.
+     */
+    public static List<MetricSnapshot> snapshot() {
+        return METRICS.entrySet()
+                .stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparing(MetricSnapshot::name))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the given snapshots as CSV. Durations are given in milliseconds. Values which do not apply to the kind of
+     * a metric are left empty.
+     *
+     * @param snapshots The snapshots to convert.
+     * @return The CSV representation of the given snapshots including a header.
+     */
+    public static String toCsv(List<MetricSnapshot> snapshots) {
+        return snapshots.stream()
+                .map(MetricSnapshot::toCsvRow)
+                .collect(Collectors.joining("\n", CSV_HEADER + "\n", "\n"));
+    }
+
+    /**
+     * The base of all kinds of metrics.
+     */
+    private sealed interface Metric permits Counter, Timer, Gauge {
+        MetricSnapshot snapshot(String name);
+    }
+
+    /**
+     * Represents the current value of a metric.
+     *
+     * @param name  The name of the metric.
+     * @param type  The kind of the metric which is "counter", "timer" or "gauge".
+     * @param count The value of a counter or the number of durations recorded by a timer. It is 0 for gauges.
+     * @param value The value of a counter or a gauge. It is {@link Double#NaN} for timers.
+     * @param mean  The mean of all durations of a timer in milliseconds. It is {@link Double#NaN} otherwise or if the
+     *              timer did not record any duration yet. The same holds for {@code p50}, {@code p90}, {@code p99} and
+     *              {@code max}.
+     * @param p50   The median of all durations of a timer in milliseconds.
+     * @param p90   The 90th percentile of all durations of a timer in milliseconds.
+     * @param p99   The 99th percentile of all durations of a timer in milliseconds.
+     * @param max   The longest duration of a timer in milliseconds.
+     */
+    public record MetricSnapshot(String name, String type, long count, double value, double mean, double p50,
+                                 double p90, double p99, double max) {
+
+        /**
+         * Returns the given value formatted for displaying or exporting it. Integral values are formatted without any
+         * decimal places, others with three. {@link Double#NaN} is represented by an empty string.
+         *
+         * @param number The value to format.
+         * @return The given value formatted for displaying or exporting it.
+         */
+        public static String format(double number) {
+            String formatted;
+            if (Double.isNaN(number)) {
+                formatted = "";
+            } else if (number == Math.rint(number) && Math.abs(number) < Long.MAX_VALUE) {
+                formatted = String.valueOf((long) number);
+            } else {
+                formatted = String.format(Locale.ROOT, "%.3f", number);
+            }
+            return formatted;
+        }
+
+        private String toCsvRow() {
+            return String.join(";", name, type, String.valueOf(count), format(value), format(mean), format(p50),
+                    format(p90), format(p99), format(max));
+        }
+    }
+
+    /**
+     * A metric summing up values.
+     */
+    public static final class Counter implements Metric {
+
+        private final LongAdder sum = new LongAdder();
+
+        private Counter() {
+        }
+
+        /**
+         * Adds 1 to this counter.
+         */
+        public void increment() {
+            sum.increment();
+        }
+
+        /**
+         * Adds the given value to this counter.
+         *
+         * @param value The value to add.
+         */
+        public void add(long value) {
+            sum.add(value);
+        }
+
+        /**
+         * Returns the current sum of this counter.
+         *
+         * @return The current sum of this counter.
+         */
+        public long get() {
+            return sum.sum();
+        }
+
+        @Override
+        public MetricSnapshot snapshot(String name) {
+            long current = get();
+            return new MetricSnapshot(name, "counter", current, current, Double.NaN, Double.NaN, Double.NaN,
+                    Double.NaN, Double.NaN);
+        }
+    }
+
+    /**
+     * A metric recording durations in a histogram. Durations up to {@link #SUB_BUCKET_COUNT} nanoseconds are recorded
+     * exactly. Larger ones are recorded into buckets whose width doubles for each power of two but which are split into
+     * {@link #SUB_BUCKET_COUNT} sub buckets.
+     */
+    public static final class Timer implements Metric {
+
+        private static final int SUB_BUCKET_BITS = 5;
+        private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+        private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        private Timer() {
+        }
+
+        private static int getBucketIndex(long duration) {
+            int index;
+            if (duration < SUB_BUCKET_COUNT) {
+                index = (int) duration;
+            } else {
+                int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(duration);
+                int shift = exponent - SUB_BUCKET_BITS;
+                int subBucket = (int) (duration >>> shift) & (SUB_BUCKET_COUNT - 1);
+                index = (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+            }
+            return index;
+        }
+
+        /**
+         * Returns the largest duration which is recorded into the bucket with the given index.
+         */
+        private static long getBucketUpperBound(int index) {
+            long upperBound;
+            if (index < SUB_BUCKET_COUNT) {
+                upperBound = index;
+            } else {
+                int shift = index / SUB_BUCKET_COUNT - 1;
+                long lowerBound = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+                upperBound = lowerBound + (1L << shift) - 1;
+            }
+            return upperBound;
+        }
+
+        /**
+         * Records the given duration.
+         *
+         * @param duration The duration to record in nanoseconds. Negative durations are recorded as 0.
+         */
+        public void record(long duration) {
+            long validDuration = Math.max(0, duration);
+            buckets.incrementAndGet(getBucketIndex(validDuration));
+            count.increment();
+            total.add(validDuration);
+            max.accumulateAndGet(validDuration, Math::max);
+        }
+
+        /**
+         * Records the time passed since the given value of {@link System#nanoTime()}.
+         *
+         * @param start The value of {@link System#nanoTime()} when the measured action started.
+         */
+        public void recordSince(long start) {
+            record(System.nanoTime() - start);
+        }
+
+        /**
+         * Returns the number of recorded durations.
+         *
+         * @return The number of recorded durations.
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * Returns the given percentile of all recorded durations.
+         *
+         * @param percentile The percentile to return within [0, 100].
+         * @return The given percentile in nanoseconds or 0 if there is no recorded duration.
+         */
+        public long getPercentile(double percentile) {
+            long[] counts = new long[BUCKET_COUNT];
+            long recorded = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] = buckets.get(i);
+                recorded += counts[i];
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * recorded));
+            long value = 0;
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT && seen < rank && recorded > 0; i++) {
+                seen += counts[i];
+                value = getBucketUpperBound(i);
+            }
+            // NOTE The upper bound of the last bucket may exceed the longest recorded duration
+            return Math.min(value, max.get());
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+
+        @Override
+        public MetricSnapshot snapshot(String name) {
+            long recorded = getCount();
+            MetricSnapshot snapshot;
+            if (recorded == 0) {
+                // NOTE A timer without any recording has no statistics at all instead of zero latencies
+                snapshot = new MetricSnapshot(name, "timer", 0, Double.NaN, Double.NaN, Double.NaN, Double.NaN,
+                        Double.NaN, Double.NaN);
+            } else {
+                snapshot = new MetricSnapshot(name, "timer", recorded, Double.NaN, toMillis(total.sum()) / recorded,
+                        toMillis(getPercentile(50)), toMillis(getPercentile(90)), toMillis(getPercentile(99)),
+                        toMillis(max.get()));
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * A metric reading its current value whenever a snapshot is taken.
+     */
+    private static final class Gauge implements Metric {
+
+        private final Supplier<? extends Number> value;
+
+        Gauge(Supplier<? extends Number> value) {
+            this.value = value;
+        }
+
+        @Override
+        public MetricSnapshot snapshot(String name) {
+            double current;
+            try {
+                current = value.get().doubleValue();
+            } catch (RuntimeException ex) {
+                LOGGER.log(Level.FINE, "Could not read the gauge " + name, ex);
+                current = Double.NaN;
+            }
+            return new MetricSnapshot(name, "gauge", 0, current, Double.NaN, Double.NaN, Double.NaN, Double.NaN,
+                    Double.NaN);
+        }
+    }
+}
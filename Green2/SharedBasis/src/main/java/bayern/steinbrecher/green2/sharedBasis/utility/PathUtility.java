@@ -18,6 +18,12 @@ public final class PathUtility {
                 case WINDOWS -> System.getenv("ProgramFiles").replaceAll("\\\\", "/");
             }, APPLICATION_FOLDER_NAME);
     public static final Path EXECUTABLES_ROOT = INSTALL_ROOT.resolve("bin");
+    /**
+     * The folder containing the modules of all programs and their dependencies.
+     *
+     * @since 2u14
+     */
+    public static final Path LIBRARIES_ROOT = INSTALL_ROOT.resolve("lib");
     public static final String LICENSES_FOLDER_NAME = "licenses";
     public static final Path LICENSES_PATH = INSTALL_ROOT.resolve(LICENSES_FOLDER_NAME);
 
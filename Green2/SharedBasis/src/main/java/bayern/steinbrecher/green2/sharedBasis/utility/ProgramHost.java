@@ -0,0 +1,207 @@
+package bayern.steinbrecher.green2.sharedBasis.utility;
+
+import bayern.steinbrecher.green2.sharedBasis.data.EnvironmentHandler;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.stage.Window;
+
+import java.lang.module.Configuration;
+import java.lang.module.FindException;
+import java.lang.module.ModuleFinder;
+import java.lang.module.ResolutionException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the programs of Green2 within the current JVM. Switching to another program closes all windows of the current
+ * program and starts the {@link Application} of the next one on the FX application thread. Hence the JVM, JavaFX and
+ * everything initialized by {@link EnvironmentHandler} like the loaded profile and
+ * {@link EnvironmentHandler#STAGE_FACTORY} are reused.
+ * <p>
+ * As long as a program is hosted the implicit exit of JavaFX is disabled since JavaFX only stops the application it
+ * launched. Instead the hosted program is stopped and JavaFX exits as soon as the last window of the hosted program is
+ * closed. Applications which may host programs have to call {@link #stopHostedProgram()} in their
+ * {@link Application#stop()} so hosted programs are stopped on any other exit as well.
+ * <p>
+ * A program is looked up in the boot layer first. Programs whose modules are not part of the boot layer are loaded from
+ * {@link PathUtility#LIBRARIES_ROOT} into a single child layer. Modules like SharedBasis which are already part of the
+ * boot layer are shared with the child layer instead of being loaded again.
+ *
+ * @author Stefan Huber
+ * @since 2u14
+ */
+public final class ProgramHost {
+
+    private static final Logger LOGGER = Logger.getLogger(ProgramHost.class.getName());
+    /**
+     * Tracks whether the hosted program showed any window and triggers the exit as soon as all windows are closed.
+     */
+    private static final ListChangeListener<Window> WINDOW_TRACKER = change -> {
+        while (change.next()) {
+            if (change.wasAdded()) {
+                hostedWindowShown = true;
+            }
+        }
+        if (change.getList().isEmpty()) {
+            // NOTE Like the implicit exit of JavaFX wait for pending events which may show the next window
+            Platform.runLater(ProgramHost::exitIfNoWindowShowing);
+        }
+    };
+    /**
+     * The layer containing the programs which are not part of the boot layer. It is {@code null} as long as it is not
+     * needed.
+     */
+    private static ModuleLayer programLayer;
+    /**
+     * The program started by this host last or {@code null} if no program was started by this host yet or it was
+     * stopped already. It is only accessed by the FX application thread.
+     */
+    private static Application hostedApplication;
+    /**
+     * Whether the program hosted last showed any window yet. It is only accessed by the FX application thread.
+     */
+    private static boolean hostedWindowShown;
+    /**
+     * Whether {@link #WINDOW_TRACKER} is registered already. It is only accessed by the FX application thread.
+     */
+    private static boolean windowTrackerRegistered;
+
+    private ProgramHost() {
+        throw new UnsupportedOperationException("Construction of an object is not allowed.");
+    }
+
+    /**
+     * Returns the layer containing all programs which are not part of the boot layer. The layer is created when it is
+     * requested the first time.
+     */
+    private static synchronized Optional<ModuleLayer> getProgramLayer() {
+        if (programLayer == null && Files.isDirectory(PathUtility.LIBRARIES_ROOT)) {
+            ModuleLayer bootLayer = ModuleLayer.boot();
+            ModuleFinder libraries = ModuleFinder.of(PathUtility.LIBRARIES_ROOT);
+            Set<String> missingPrograms = Arrays.stream(Programs.values())
+                    .map(Programs::getModuleName)
+                    .filter(moduleName -> bootLayer.findModule(moduleName).isEmpty())
+                    .filter(moduleName -> libraries.find(moduleName).isPresent())
+                    .collect(Collectors.toSet());
+            try {
+                // NOTE Searching the libraries after the boot layer shares the modules which are already loaded
+                Configuration configuration = bootLayer.configuration()
+                        .resolve(ModuleFinder.of(), libraries, missingPrograms);
+                programLayer = bootLayer.defineModulesWithOneLoader(
+                        configuration, ClassLoader.getSystemClassLoader());
+            } catch (FindException | ResolutionException | LayerInstantiationException ex) {
+                LOGGER.log(Level.WARNING, "Could not load the programs which are not part of the boot layer", ex);
+            }
+        }
+        return Optional.ofNullable(programLayer);
+    }
+
+    /**
+     * Returns the layer which contains the module of the given program.
+     */
+    private static Optional<ModuleLayer> findLayer(Programs program) {
+        Optional<ModuleLayer> layer;
+        if (ModuleLayer.boot().findModule(program.getModuleName()).isPresent()) {
+            layer = Optional.of(ModuleLayer.boot());
+        } else {
+            layer = getProgramLayer()
+                    .filter(programs -> programs.findModule(program.getModuleName()).isPresent());
+        }
+        return layer;
+    }
+
+    /**
+     * Switches to the given program within the current JVM if its module can be found.
+     *
+     * @param program The program to switch to.
+     * @return {@code true} only if the program was found. In this case it is started asynchronously. Otherwise nothing
+     * is changed.
+     */
+    public static boolean host(Programs program) {
+        Optional<ModuleLayer> layer = findLayer(program);
+        boolean hosted = false;
+        if (layer.isPresent()) {
+            ClassLoader programLoader = layer.get().findLoader(program.getModuleName());
+            try {
+                Class<? extends Application> applicationClass = Class.forName(
+                                program.getApplicationClassName(), true, programLoader)
+                        .asSubclass(Application.class);
+                Platform.runLater(() -> switchTo(applicationClass, programLoader));
+                hosted = true;
+            } catch (ClassNotFoundException | ClassCastException ex) {
+                LOGGER.log(Level.WARNING, "Could not load the application of " + program, ex);
+            }
+        }
+        return hosted;
+    }
+
+    /**
+     * Closes all windows of the current program and starts the given application. It has to be called by the FX
+     * application thread.
+     */
+    private static void switchTo(Class<? extends Application> applicationClass, ClassLoader programLoader) {
+        // NOTE Otherwise JavaFX exits as soon as the last window of the current program is closed
+        Platform.setImplicitExit(false);
+        if (!windowTrackerRegistered) {
+            Window.getWindows()
+                    .addListener(WINDOW_TRACKER);
+            windowTrackerRegistered = true;
+        }
+        List<Window> openWindows = new ArrayList<>(Window.getWindows());
+        openWindows.forEach(Window::hide);
+        stopHostedProgram();
+        hostedWindowShown = false;
+        // NOTE FXML files of the program refer to classes which are only visible to the loader of the program
+        Thread.currentThread().setContextClassLoader(programLoader);
+        try {
+            Application application = applicationClass.getConstructor()
+                    .newInstance();
+            application.init();
+            hostedApplication = application;
+            application.start(EnvironmentHandler.STAGE_FACTORY.create());
+        } catch (InvocationTargetException | InstantiationException | IllegalAccessException
+                | NoSuchMethodException ex) {
+            LOGGER.log(Level.SEVERE, "Could not create the application " + applicationClass.getName(), ex);
+        } catch (Exception ex) { //NOPMD - Application#init() and Application#start(Stage) may throw any exception.
+            LOGGER.log(Level.SEVERE, "Could not start the application " + applicationClass.getName(), ex);
+        }
+    }
+
+    /**
+     * Stops the hosted program and exits JavaFX if the hosted program closed all of its windows.
+     */
+    private static void exitIfNoWindowShowing() {
+        if (hostedApplication != null && hostedWindowShown && Window.getWindows().isEmpty()) {
+            stopHostedProgram();
+            Platform.exit();
+        }
+    }
+
+    /**
+     * Stops the program started by this host last if it is not stopped yet. It has to be called by the FX application
+     * thread. Applications which may host programs have to call it in their {@link Application#stop()}.
+     *
+     * @since 2u14
+     */
+    public static void stopHostedProgram() {
+        if (hostedApplication != null) {
+            // NOTE Reset first since the hosted program may call this method in its own stop() as well
+            Application stoppedApplication = hostedApplication;
+            hostedApplication = null;
+            try {
+                stoppedApplication.stop();
+            } catch (Exception ex) { //NOPMD - Any exception of stopping a program must not prevent exiting.
+                LOGGER.log(Level.WARNING, "Could not stop the hosted program cleanly", ex);
+            }
+        }
+    }
+}
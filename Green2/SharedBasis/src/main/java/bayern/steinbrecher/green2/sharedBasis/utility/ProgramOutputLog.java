@@ -0,0 +1,84 @@
+package bayern.steinbrecher.green2.sharedBasis.utility;
+
+import bayern.steinbrecher.green2.sharedBasis.data.EnvironmentHandler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Manages the files the output of programs started in a new process is written to. The output is redirected by the
+ * operating system. Hence neither a pipe nor any thread of the calling program is involved. The started program is
+ * never slowed down or blocked by its output, even after the calling program exited. Each program has its own file
+ * which is rotated before starting the program whenever it exceeds {@link #MAX_FILE_SIZE}.
+ *
+ * @author Stefan Huber
+ * @since 2u14
+ */
+public final class ProgramOutputLog {
+
+    /**
+     * The folder containing the output of all programs started in a new process.
+     */
+    public static final Path LOGS_ROOT = Paths.get(EnvironmentHandler.APP_DATA_PATH, "logs");
+    private static final long MAX_FILE_SIZE = 1024 * 1024; // [byte]
+    /**
+     * The number of rotated files kept in addition to the current one.
+     */
+    private static final int MAX_GENERATIONS = 3;
+
+    private ProgramOutputLog() {
+        throw new UnsupportedOperationException("Construction of an object is not allowed.");
+    }
+
+    /**
+     * Returns the file the output of the given program is currently written to.
+     *
+     * @param program The program whose output is requested.
+     * @return The file the output of the given program is currently written to. It may not exist.
+     */
+    public static Path getLogFile(Programs program) {
+        return LOGS_ROOT.resolve(program.getModuleName() + ".log");
+    }
+
+    private static Path getRotatedFile(Path logFile, int generation) {
+        return logFile.resolveSibling(logFile.getFileName() + "." + generation);
+    }
+
+    /**
+     * Moves the given file to the first generation if it exceeds {@link #MAX_FILE_SIZE}. Existing generations are moved
+     * to the next one. The oldest generation is dropped.
+     */
+    private static void rotate(Path logFile) throws IOException {
+        if (Files.isRegularFile(logFile) && Files.size(logFile) > MAX_FILE_SIZE) {
+            Files.deleteIfExists(getRotatedFile(logFile, MAX_GENERATIONS));
+            for (int generation = MAX_GENERATIONS - 1; generation > 0; generation--) {
+                Path rotatedFile = getRotatedFile(logFile, generation);
+                if (Files.exists(rotatedFile)) {
+                    Files.move(rotatedFile, getRotatedFile(logFile, generation + 1),
+                            StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(logFile, getRotatedFile(logFile, 1), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Redirects stdout and stderr of the process to create to the log file of the given program. Both streams are
+     * merged. Hence their order is kept.
+     *
+     * @param builder The builder of the process to redirect.
+     * @param program The program the process runs.
+     * @return The given builder.
+     * @throws IOException Thrown if the log file could not be prepared.
+     */
+    public static ProcessBuilder redirect(ProcessBuilder builder, Programs program) throws IOException {
+        Path logFile = getLogFile(program);
+        Files.createDirectories(LOGS_ROOT);
+        rotate(logFile);
+        return builder.redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(logFile.toFile()));
+    }
+}
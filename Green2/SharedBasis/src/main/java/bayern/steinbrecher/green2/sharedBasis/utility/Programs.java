@@ -14,24 +14,44 @@ import java.util.logging.Logger;
  * @author Stefan Huber
  */
 public enum Programs {
-    CONFIGURATION_DIALOG("ConfigurationDialog"),
-    LAUNCHER("Launcher"),
-    MEMBER_MANAGEMENT("MemberManagement"),
-    UNINSTALLER("Uninstaller");
+    CONFIGURATION_DIALOG("ConfigurationDialog", "bayern.steinbrecher.green2.configurationDialog.ConfigDialog"),
+    LAUNCHER("Launcher", "bayern.steinbrecher.green2.launcher.Launcher"),
+    MEMBER_MANAGEMENT("MemberManagement", "bayern.steinbrecher.green2.memberManagement.MemberManagement"),
+    UNINSTALLER("Uninstaller", "bayern.steinbrecher.green2.uninstaller.Uninstaller");
 
     private static final Logger LOGGER = Logger.getLogger(Programs.class.getName());
     private final String executablePrefix;
+    private final String applicationClassName;
     private final String[] options;
 
-    Programs(String executablePrefix, String... options) {
+    Programs(String executablePrefix, String applicationClassName, String... options) {
         this.executablePrefix = executablePrefix;
+        this.applicationClassName = applicationClassName;
         this.options = Arrays.copyOf(options, options.length);
     }
 
     /**
-     * Calls this program and closes the current program.
+     * Calls this program and closes the current program. The program is started within the current JVM if possible.
+     * Otherwise it is started in a new process.
+     *
+     * @see ProgramHost#host(Programs)
+     * @see #callInNewProcess()
      */
     public void call() {
+        if (!ProgramHost.host(this)) {
+            LOGGER.log(Level.INFO, "{0} can not be started within the current JVM. It is started in a new process.",
+                    this);
+            callInNewProcess();
+        }
+    }
+
+    /**
+     * Calls this program in a new process and closes the current program. This is required whenever the installed
+     * modules may differ from the ones already loaded e.g. after an update.
+     *
+     * @since 2u14
+     */
+    public void callInNewProcess() {
         String[] args = new String[options.length + 1];
         String execFormat = switch (SupportedOS.CURRENT) {
             case LINUX -> "";
@@ -42,19 +62,49 @@ public enum Programs {
                 .toString();
         System.arraycopy(options, 0, args, 1, options.length);
         Platform.setImplicitExit(false);
+        ProcessBuilder nextProgram = new ProcessBuilder(args);
+        boolean outputLogged;
+        try {
+            // NOTE Piping the output to this program would block the next program as soon as this program exits
+            ProgramOutputLog.redirect(nextProgram, this);
+            outputLogged = true;
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, "Could not prepare the log file of the next program.", ex);
+            nextProgram.redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD);
+            outputLogged = false;
+        }
         try {
-            Process nextProgramProcess = new ProcessBuilder(args)
-                    .start();
-            // FIXME Piping stdout and stderr has HUGE performance issues
-            // nextProgramProcess.waitFor();
-            // String errorMessage = IOStreamUtility
-            //         .readAll(nextProgramProcess.getErrorStream(), Charset.defaultCharset());
-            // if (!errorMessage.isBlank()) {
-            //     LOGGER.log(Level.SEVERE, String.format("The started program yielded errors:\n%s", errorMessage));
-            // }
+            nextProgram.start();
+            if (outputLogged) {
+                LOGGER.log(Level.INFO, "The output of {0} is written to {1}",
+                        new Object[]{this, ProgramOutputLog.getLogFile(this)});
+            } else {
+                LOGGER.log(Level.WARNING, "The output of {0} is discarded", this);
+            }
         } catch (IOException ex) {
             LOGGER.log(Level.SEVERE, "Starting the next program failed", ex);
         }
         Platform.exit();
     }
+
+    /**
+     * Returns the name of the module containing this program.
+     *
+     * @return The name of the module containing this program.
+     * @since 2u14
+     */
+    public String getModuleName() {
+        return "bayern.steinbrecher.green2." + executablePrefix;
+    }
+
+    /**
+     * Returns the fully qualified name of the {@link javafx.application.Application} of this program.
+     *
+     * @return The fully qualified name of the {@link javafx.application.Application} of this program.
+     * @since 2u14
+     */
+    public String getApplicationClassName() {
+        return applicationClassName;
+    }
 }
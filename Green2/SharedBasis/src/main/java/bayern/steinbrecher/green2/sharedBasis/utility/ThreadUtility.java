@@ -3,13 +3,14 @@ package bayern.steinbrecher.green2.sharedBasis.utility;
 import bayern.steinbrecher.green2.sharedBasis.data.EnvironmentHandler;
 import bayern.steinbrecher.javaUtility.DialogCreationException;
 import bayern.steinbrecher.javaUtility.DialogFactory;
-import javafx.application.Platform;
 import javafx.scene.control.Alert;
 
 import java.lang.Thread.UncaughtExceptionHandler;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Callable;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -30,35 +31,179 @@ public final class ThreadUtility {
         }
     };
 
+    /**
+     * The scope of all background tasks of the application which are not bound to a more specific scope. It is shared
+     * by all programs running within the same JVM and therefore must not be cancelled. Programs use their own
+     * {@link TaskScope} for tasks which have to be cancelled when they stop.
+     *
+     * @see #startTask(String, Runnable)
+     * @since 2u14
+     */
+    public static final TaskScope APPLICATION_TASKS = new TaskScope("green2");
+
     private ThreadUtility() {
         throw new UnsupportedOperationException("Construction of instances is prohibited");
     }
 
+    /**
+     * Executes the given actions on the FX application thread and waits for their result. If called on the FX
+     * application thread the actions are executed immediately.
+     *
+     * @param <T>     The type of the result of the actions.
+     * @param actions The actions to execute.
+     * @return The result of the actions or {@code null} if they failed or waiting for them was interrupted.
+     * @see FxUpdateScheduler#supply(Callable)
+     */
     public static <T> T runLaterBlocking(Callable<T> actions) {
-        AtomicReference<T> resultRef = new AtomicReference<>();
-        Runnable exceptionSafeExecution = () -> {
-            try {
-                resultRef.set(actions.call());
-            } catch (Exception ex) {
-                LOGGER.log(Level.WARNING, "Actions on FXAppThread failed", ex);
-                resultRef.set(null);
+        T result;
+        try {
+            result = FxUpdateScheduler.supply(actions)
+                    .get();
+        } catch (ExecutionException ex) {
+            LOGGER.log(Level.WARNING, "Actions on FXAppThread failed", ex);
+            result = null;
+        } catch (InterruptedException ex) {
+            LOGGER.log(Level.INFO, "Waiting for FX main thread to execute the given actions was interrupted", ex);
+            Thread.currentThread().interrupt();
+            result = null;
+        }
+        return result;
+    }
+
+    /**
+     * Starts the given task in its own thread within {@link #APPLICATION_TASKS}. Exceptions which are not caught by
+     * the task are handled by {@link #DEFAULT_THREAD_EXCEPTION_HANDLER}.
+     *
+     * @param name The name of the task used for diagnostics.
+     * @param task The task to execute.
+     * @return The thread executing the task.
+     * @see TaskScope#fork(String, Runnable)
+     * @since 2u14
+     */
+    public static Thread startTask(String name, Runnable task) {
+        return APPLICATION_TASKS.fork(name, task);
+    }
+
+    /**
+     * Starts the given task in its own thread within {@link #APPLICATION_TASKS}.
+     *
+     * @param name             The name of the task used for diagnostics.
+     * @param task             The task to execute.
+     * @param exceptionHandler The handler of exceptions which are not caught by the task.
+     * @return The thread executing the task.
+     * @see TaskScope#fork(String, Runnable, UncaughtExceptionHandler)
+     * @since 2u14
+     */
+    public static Thread startTask(String name, Runnable task, UncaughtExceptionHandler exceptionHandler) {
+        return APPLICATION_TASKS.fork(name, task, exceptionHandler);
+    }
+
+    /**
+     * Represents a group of named background tasks which are cancelled and awaited together. Cancelling a scope
+     * interrupts all of its running tasks and prevents starting new ones. Tasks have to react to interruption in order
+     * to support cancellation.
+     *
+     * @since 2u14
+     */
+    public static final class TaskScope implements AutoCloseable {
+
+        private final String name;
+        private final Set<Thread> runningTasks = ConcurrentHashMap.newKeySet();
+        private volatile boolean cancelled;
+
+        /**
+         * Creates a new scope without any tasks.
+         *
+         * @param name The name of the scope which prefixes the names of the threads of all of its tasks.
+         */
+        public TaskScope(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Starts the given task in its own thread. Exceptions which are not caught by the task are handled by
+         * {@link #DEFAULT_THREAD_EXCEPTION_HANDLER}.
+         *
+         * @param taskName The name of the task used for diagnostics.
+         * @param task     The task to execute.
+         * @return The thread executing the task.
+         * @throws IllegalStateException Thrown only if this scope is already cancelled.
+         */
+        public Thread fork(String taskName, Runnable task) {
+            return fork(taskName, task, DEFAULT_THREAD_EXCEPTION_HANDLER);
+        }
+
+        /**
+         * Starts the given task in its own thread.
+         *
+         * @param taskName         The name of the task used for diagnostics.
+         * @param task             The task to execute.
+         * @param exceptionHandler The handler of exceptions which are not caught by the task.
+         * @return The thread executing the task.
+         * @throws IllegalStateException Thrown only if this scope is already cancelled.
+         */
+        public Thread fork(String taskName, Runnable task, UncaughtExceptionHandler exceptionHandler) {
+            if (cancelled) {
+                throw new IllegalStateException(
+                        String.format("Can not start task %s since scope %s is cancelled", taskName, name));
+            }
+            Thread thread = new Thread(() -> {
+                try {
+                    task.run();
+                } finally {
+                    runningTasks.remove(Thread.currentThread());
+                }
+            }, name + "/" + taskName);
+            thread.setUncaughtExceptionHandler(exceptionHandler);
+            runningTasks.add(thread);
+            thread.start();
+            if (cancelled) {
+                // NOTE The scope may have been cancelled while starting the thread
+                thread.interrupt();
             }
-        };
-        if (Platform.isFxApplicationThread()) {
-            exceptionSafeExecution.run();
-        } else {
-            CountDownLatch latch = new CountDownLatch(1);
-            Platform.runLater(() -> {
-                exceptionSafeExecution.run();
-                latch.countDown();
-            });
+            return thread;
+        }
+
+        /**
+         * Cancels this scope by interrupting all of its running tasks. Afterwards no more tasks can be started.
+         */
+        public void cancel() {
+            cancelled = true;
+            runningTasks.forEach(Thread::interrupt);
+        }
+
+        /**
+         * Checks whether this scope was cancelled.
+         *
+         * @return {@code true} only if this scope was cancelled.
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Waits for all tasks of this scope to terminate.
+         *
+         * @throws InterruptedException Thrown if the current thread is interrupted while waiting.
+         */
+        public void join() throws InterruptedException {
+            for (Thread task : List.copyOf(runningTasks)) {
+                task.join();
+            }
+        }
+
+        /**
+         * Waits for all tasks of this scope to terminate. If the waiting thread is interrupted all tasks are cancelled.
+         */
+        @Override
+        public void close() {
             try {
-                latch.await();
+                join();
             } catch (InterruptedException ex) {
-                LOGGER.log(Level.INFO,
-                        "Waiting for FX main thread to execute the given actions was interrupted", ex);
+                LOGGER.log(Level.INFO, "Waiting for tasks of scope " + name + " was interrupted. Cancel them.", ex);
+                cancel();
+                Thread.currentThread().interrupt();
             }
         }
-        return resultRef.get();
     }
 }
@@ -1,5 +1,6 @@
 module bayern.steinbrecher.green2.SharedBasis {
     exports bayern.steinbrecher.green2.sharedBasis.data;
+    exports bayern.steinbrecher.green2.sharedBasis.diagnostics;
     exports bayern.steinbrecher.green2.sharedBasis.elements;
     exports bayern.steinbrecher.green2.sharedBasis.people;
     exports bayern.steinbrecher.green2.sharedBasis.utility;
@@ -15,6 +16,7 @@ module bayern.steinbrecher.green2.SharedBasis {
     requires javafx.base;
     requires javafx.controls;
     requires javafx.graphics;
+    requires jdk.jfr;
 
     requires static bayern.steinbrecher.GenericWizard;
 